@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Arrays;
+
+public final class Arena {
+
+    final int[] kind;
+    final int[] start;
+    final int[] end;
+    final int[] firstChild;
+    final int[] nextSibling;
+    private int size;
+
+    Arena(int capacity) {
+        kind = new int[capacity];
+        start = new int[capacity];
+        end = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+    }
+
+    int add(int kind, int start) {
+        this.kind[size] = kind;
+        this.start[size] = start;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int root() {
+        return size != 0 ? 0 : -1;
+    }
+
+    public int kind(int node) {
+        return kind[check(node)];
+    }
+
+    public int start(int node) {
+        return start[check(node)];
+    }
+
+    public int end(int node) {
+        return end[check(node)];
+    }
+
+    public int firstChild(int node) {
+        return firstChild[check(node)];
+    }
+
+    public int nextSibling(int node) {
+        return nextSibling[check(node)];
+    }
+
+    public ArenaCursor cursor() {
+        return new ArenaCursor(this);
+    }
+
+    private int check(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(node));
+        }
+        return node;
+    }
+}
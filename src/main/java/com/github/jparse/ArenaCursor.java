@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Arrays;
+
+public final class ArenaCursor {
+
+    private final Arena arena;
+    private int[] parents = new int[16];
+    private int depth;
+    private int node;
+
+    ArenaCursor(Arena arena) {
+        this.arena = arena;
+        node = arena.root();
+    }
+
+    public int node() {
+        return node;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int kind() {
+        return arena.kind(node);
+    }
+
+    public int start() {
+        return arena.start(node);
+    }
+
+    public int end() {
+        return arena.end(node);
+    }
+
+    public boolean firstChild() {
+        if (node < 0 || arena.firstChild[node] < 0) {
+            return false;
+        }
+        if (depth == parents.length) {
+            parents = Arrays.copyOf(parents, depth * 2);
+        }
+        parents[depth++] = node;
+        node = arena.firstChild[node];
+        return true;
+    }
+
+    public boolean nextSibling() {
+        if (node < 0 || arena.nextSibling[node] < 0) {
+            return false;
+        }
+        node = arena.nextSibling[node];
+        return true;
+    }
+
+    public boolean parent() {
+        if (depth == 0) {
+            return false;
+        }
+        node = parents[--depth];
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+final class BudgetMeter {
+
+    private static final int CHECK_INTERVAL = 256;
+
+    private final ParseBudget budget;
+    private long start;
+    private long elapsed;
+    private int depth;
+    private final LongMap<int[]> backtracksByOffset = new LongMap<>();
+    private long steps;
+    private long backtracks;
+    private int maxBacktracksAtOffset;
+    private String exhausted;
+    private String message;
+    private Sequence<?> rest;
+
+    BudgetMeter(ParseBudget budget) {
+        this.budget = budget;
+    }
+
+    void start() {
+        if (depth++ == 0) {
+            start = System.nanoTime();
+        }
+    }
+
+    void stop() {
+        if (--depth == 0) {
+            elapsed += System.nanoTime() - start;
+        }
+    }
+
+    private long elapsed() {
+        return depth > 0 ? elapsed + System.nanoTime() - start : elapsed;
+    }
+
+    static BudgetMeter get(Sequence<?> sequence) {
+        return sequence instanceof StatefulSequence ? ((StatefulSequence<?>) sequence).context.meter : null;
+    }
+
+    static boolean step(Sequence<?> sequence, Carrier carrier) {
+        BudgetMeter meter = get(sequence);
+        if (meter != null && !meter.step(sequence)) {
+            carrier.error(meter.message, sequence);
+            return false;
+        }
+        return true;
+    }
+
+    static boolean backtrack(Sequence<?> sequence, Carrier carrier) {
+        BudgetMeter meter = get(sequence);
+        if (meter != null && !meter.backtrack(sequence)) {
+            carrier.error(meter.message, sequence);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean step(Sequence<?> sequence) {
+        if (exhausted != null) {
+            return false;
+        }
+        steps++;
+        if (budget.maxSteps >= 0 && steps > budget.maxSteps) {
+            return exhaust("steps", sequence);
+        }
+        if (steps % CHECK_INTERVAL == 0) {
+            if (budget.cancellation != null && budget.cancellation.isCancelled()) {
+                return exhaust("cancelled", sequence);
+            }
+            if (budget.timeoutNanos >= 0 && elapsed() > budget.timeoutNanos) {
+                return exhaust("deadline", sequence);
+            }
+        }
+        return true;
+    }
+
+    private boolean backtrack(Sequence<?> sequence) {
+        if (exhausted != null) {
+            return false;
+        }
+        backtracks++;
+        int offset = ((StatefulSequence<?>) sequence).offset;
+        int[] count = backtracksByOffset.get(offset);
+        if (count == null) {
+            count = new int[1];
+            backtracksByOffset.put(offset, count);
+        }
+        count[0]++;
+        maxBacktracksAtOffset = Math.max(maxBacktracksAtOffset, count[0]);
+        if (budget.maxBacktracks >= 0 && count[0] > budget.maxBacktracks) {
+            return exhaust("backtracks", sequence);
+        }
+        return true;
+    }
+
+    private boolean exhaust(String reason, Sequence<?> sequence) {
+        exhausted = reason;
+        message = "parse budget exhausted: " + reason;
+        rest = sequence;
+        return false;
+    }
+
+    boolean isExhausted() {
+        return exhausted != null;
+    }
+
+    String getMessage() {
+        return message;
+    }
+
+    Sequence<?> getRest() {
+        return rest;
+    }
+
+    BudgetUsage usage() {
+        return new BudgetUsage(steps, backtracks, maxBacktracksAtOffset, elapsed(), exhausted);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+public final class BudgetUsage {
+
+    private final long steps;
+    private final long backtracks;
+    private final int maxBacktracksAtOffset;
+    private final long elapsedNanos;
+    private final String exhausted;
+
+    BudgetUsage(long steps, long backtracks, int maxBacktracksAtOffset, long elapsedNanos, String exhausted) {
+        this.steps = steps;
+        this.backtracks = backtracks;
+        this.maxBacktracksAtOffset = maxBacktracksAtOffset;
+        this.elapsedNanos = elapsedNanos;
+        this.exhausted = exhausted;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    public int getMaxBacktracksAtOffset() {
+        return maxBacktracksAtOffset;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isExhausted() {
+        return exhausted != null;
+    }
+
+    public String getExhausted() {
+        return exhausted;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetUsage{steps=" + steps + ", backtracks=" + backtracks + ", maxBacktracksAtOffset=" +
+                maxBacktracksAtOffset + ", elapsedNanos=" + elapsedNanos + ", exhausted=" + exhausted + '}';
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+final class Carrier {
+
+    private static final int SUCCESS = 0;
+    private static final int FAILURE = 1;
+    private static final int ERROR = 2;
+    private int status;
+    private Object value;
+    private String message;
+    private Sequence<?> rest;
+    private ParseResult<?, ?> result;
+    boolean recognize;
+    boolean defer;
+    EventLog events;
+
+    <T> void run(Parser<T, ?> parser, Sequence<T> sequence) {
+        if (parser instanceof FluentParser) {
+            ((FluentParser<T, ?>) parser).run(sequence, this);
+        } else {
+            runOpaque(parser, sequence);
+        }
+    }
+
+    <T> void runOpaque(Parser<T, ?> parser, Sequence<T> sequence) {
+        if (events == null) {
+            set(parser.parse(sequence));
+            return;
+        }
+        if (!(sequence instanceof StatefulSequence)) {
+            throw new IllegalStateException("events cannot pass through " + parser + " without a stateful sequence");
+        }
+        ParseContext context = ((StatefulSequence<T>) sequence).context;
+        Carrier outer = context.carrier;
+        int mark = EventLog.mark(this);
+        context.carrier = this;
+        try {
+            set(parser.parse(sequence));
+        } finally {
+            context.carrier = outer;
+        }
+        if (!isSuccess()) {
+            EventLog.rollback(this, mark);
+        }
+    }
+
+    boolean isSuccess() {
+        return status == SUCCESS;
+    }
+
+    boolean isFailure() {
+        return status == FAILURE;
+    }
+
+    boolean isError() {
+        return status == ERROR;
+    }
+
+    @SuppressWarnings("unchecked")
+    <U> U getValue() {
+        return (U) value;
+    }
+
+    String getMessage() {
+        return message;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Sequence<T> getRest() {
+        return (Sequence<T>) rest;
+    }
+
+    void success(Object value, Sequence<?> rest) {
+        status = SUCCESS;
+        this.value = value;
+        message = null;
+        this.rest = rest;
+        result = null;
+    }
+
+    void failure(String message, Sequence<?> rest) {
+        status = FAILURE;
+        value = null;
+        this.message = message;
+        this.rest = rest;
+        result = null;
+    }
+
+    void error(String message, Sequence<?> rest) {
+        status = ERROR;
+        value = null;
+        this.message = message;
+        this.rest = rest;
+        result = null;
+    }
+
+    void unwrapRest() {
+        if (rest instanceof StatefulSequence) {
+            rest = ((StatefulSequence<?>) rest).unwrap();
+            result = null;
+        }
+    }
+
+    void setValue(Object value) {
+        this.value = value;
+        result = null;
+    }
+
+    void set(ParseResult<?, ?> result) {
+        if (result.isSuccess()) {
+            status = SUCCESS;
+            value = result.getResult();
+            message = null;
+        } else {
+            status = result.isFailure() ? FAILURE : ERROR;
+            value = null;
+            message = result.getMessage();
+        }
+        rest = result.getRest();
+        this.result = result;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T, U> ParseResult<T, U> toResult() {
+        if (result == null) {
+            switch (status) {
+                case SUCCESS:
+                    result = ParseResult.success(value, rest);
+                    break;
+                case FAILURE:
+                    result = ParseResult.failure(message, rest);
+                    break;
+                default:
+                    result = ParseResult.error(message, rest);
+                    break;
+            }
+        }
+        return (ParseResult<T, U>) result;
+    }
+}
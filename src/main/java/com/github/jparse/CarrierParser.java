@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+abstract class CarrierParser<T, U> extends FluentParser<T, U> {
+
+    @Override
+    public final ParseResult<T, U> parse(Sequence<T> sequence) {
+        Carrier carrier = new Carrier();
+        Carrier outer = ParseContext.carrier(sequence);
+        if (outer != null) {
+            carrier.events = outer.events;
+            ((StatefulSequence<T>) sequence).context.carrier = null;
+        }
+        BudgetMeter meter = BudgetMeter.get(sequence);
+        if (meter == null) {
+            run(sequence, carrier);
+            return carrier.toResult();
+        }
+        meter.start();
+        try {
+            run(sequence, carrier);
+        } finally {
+            meter.stop();
+        }
+        if (meter.isExhausted() && !carrier.isError()) {
+            carrier.error(meter.getMessage(), meter.getRest());
+        }
+        return carrier.toResult();
+    }
+
+    @Override
+    abstract void run(Sequence<T> sequence, Carrier carrier);
+}
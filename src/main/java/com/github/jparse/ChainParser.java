@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+final class ChainParser<T, U> extends CarrierParser<T, U> {
+
+    private final Parser<T, ? extends U> parser;
+    private final Parser<T, ? extends Function2<? super U, ? super U, ? extends U>> operator;
+    private final boolean right;
+    private final Production production;
+
+    ChainParser(Parser<T, ? extends U> parser,
+            Parser<T, ? extends Function2<? super U, ? super U, ? extends U>> operator, boolean right) {
+        this.parser = requireNonNull(parser);
+        this.operator = requireNonNull(operator);
+        this.right = right;
+        production = Production.wrapper(Parsers.then(parser, Parsers.rep(Parsers.then(operator, parser))));
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        ChainFrame frame = new ChainFrame();
+        carrier.run(parser, sequence);
+        while (frame.advance(carrier)) {
+            carrier.run(frame.next, frame.position);
+        }
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new ChainFrame());
+        trampoline.call(parser, sequence);
+    }
+
+    @Override
+    Production production() {
+        return production;
+    }
+
+    @SuppressWarnings("unchecked")
+    private U apply(Object operator, Object left, Object right) {
+        return ((Function2<? super U, ? super U, ? extends U>) operator).apply((U) left, (U) right);
+    }
+
+    private U fold(List<Object> operands, List<Object> operators, Object last, boolean force) {
+        int n = operators.size();
+        if (right) {
+            U result = force(last, force);
+            for (int i = n - 1; i >= 0; i--) {
+                result = apply(force(operators.get(i), force), force(operands.get(i), force), result);
+            }
+            return result;
+        }
+        U result = force(operands.get(0), force);
+        for (int i = 0; i < n; i++) {
+            Object next = i + 1 < n ? operands.get(i + 1) : last;
+            result = apply(force(operators.get(i), force), result, force(next, force));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> U force(Object value, boolean force) {
+        return force ? Deferred.<U>force(value) : (U) value;
+    }
+
+    private final class ChainFrame extends Trampoline.Frame {
+
+        private Object value;
+        private List<Object> operands;
+        private List<Object> operators;
+        private Object pending;
+        private Sequence<T> rest;
+        private int mark;
+        private Object snapshot;
+        private boolean atOperator;
+        Parser<T, ?> next;
+        Sequence<T> position;
+
+        boolean advance(Carrier carrier) {
+            if (carrier.isFailure()) {
+                if (rest != null) {
+                    EventLog.rollback(carrier, mark);
+                }
+                if (rest != null && carrier.isFailure()) {
+                    ParseContext.restore(rest, snapshot);
+                    carrier.success(carrier.recognize ? null : result(carrier.defer), rest);
+                }
+                return false;
+            }
+            if (carrier.isError()) {
+                return false;
+            }
+            if (atOperator) {
+                pending = carrier.getValue();
+                atOperator = false;
+                next = parser;
+            } else {
+                Object operand = carrier.getValue();
+                if (rest == null || carrier.recognize) {
+                    value = operand;
+                } else if (right || carrier.defer) {
+                    if (operands == null) {
+                        operands = new ArrayList<>();
+                        operators = new ArrayList<>();
+                    }
+                    operands.add(value);
+                    operators.add(pending);
+                    value = operand;
+                } else {
+                    value = apply(pending, value, operand);
+                }
+                pending = null;
+                rest = carrier.getRest();
+                mark = EventLog.mark(carrier);
+                snapshot = ParseContext.snapshot(rest);
+                if (!BudgetMeter.step(rest, carrier)) {
+                    return false;
+                }
+                atOperator = true;
+                next = operator;
+            }
+            position = carrier.getRest();
+            return true;
+        }
+
+        private Object result(boolean defer) {
+            if (operands == null) {
+                return value;
+            }
+            if (!defer) {
+                return fold(operands, operators, value, false);
+            }
+            final List<Object> operands = this.operands;
+            final List<Object> operators = this.operators;
+            final Object last = value;
+            return new Deferred() {
+                @Override
+                Object compute() {
+                    return fold(operands, operators, last, true);
+                }
+            };
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (advance(carrier)) {
+                trampoline.call(next, position);
+            } else {
+                trampoline.pop();
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public final class CharClass {
+
+    private static final char[] NO_RANGES = {};
+    private static final int MAX_FIRST = 256;
+
+    private static final CharClass DIGIT = range('0', '9');
+    private static final CharClass WORD = range('a', 'z').union(range('A', 'Z')).union(DIGIT).union(of("_"));
+    private static final CharClass WHITESPACE = of(" \t\n\u000B\f\r");
+
+    private final long low;
+    private final long high;
+    private final char[] ranges;
+
+    private CharClass(long low, long high, char[] ranges) {
+        this.low = low;
+        this.high = high;
+        this.ranges = ranges;
+    }
+
+    public static CharClass of(String chars) {
+        CharClass result = new CharClass(0L, 0L, NO_RANGES);
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            result = result.union(range(c, c));
+        }
+        return result;
+    }
+
+    public static CharClass range(char first, char last) {
+        if (first > last) {
+            throw new IllegalArgumentException("invalid range " + first + "-" + last);
+        }
+        long low = 0L;
+        long high = 0L;
+        for (int c = first; c <= last && c < 128; c++) {
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        char[] ranges = last < 128 ? NO_RANGES : new char[]{(char) Math.max(first, 128), last};
+        return new CharClass(low, high, ranges);
+    }
+
+    public static CharClass digit() {
+        return DIGIT;
+    }
+
+    public static CharClass word() {
+        return WORD;
+    }
+
+    public static CharClass whitespace() {
+        return WHITESPACE;
+    }
+
+    public CharClass union(CharClass other) {
+        char[] merged = new char[ranges.length + other.ranges.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ranges.length || j < other.ranges.length) {
+            char first;
+            char last;
+            if (j == other.ranges.length || i < ranges.length && ranges[i] <= other.ranges[j]) {
+                first = ranges[i++];
+                last = ranges[i++];
+            } else {
+                first = other.ranges[j++];
+                last = other.ranges[j++];
+            }
+            if (count > 0 && first <= merged[count - 1] + 1) {
+                merged[count - 1] = (char) Math.max(merged[count - 1], last);
+            } else {
+                merged[count++] = first;
+                merged[count++] = last;
+            }
+        }
+        return new CharClass(low | other.low, high | other.high, count == 0 ? NO_RANGES : Arrays.copyOf(merged,
+                count));
+    }
+
+    public CharClass negate() {
+        char[] complement = new char[ranges.length + 2];
+        int count = 0;
+        int next = 128;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                complement[count++] = (char) next;
+                complement[count++] = (char) (ranges[i] - 1);
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= Character.MAX_VALUE) {
+            complement[count++] = (char) next;
+            complement[count++] = Character.MAX_VALUE;
+        }
+        return new CharClass(~low, ~high, count == 0 ? NO_RANGES : Arrays.copyOf(complement, count));
+    }
+
+    public boolean contains(char c) {
+        if (c < 64) {
+            return (low & 1L << c) != 0;
+        } else if (c < 128) {
+            return (high & 1L << c) != 0;
+        } else {
+            return containsNonAscii(c);
+        }
+    }
+
+    int scan(CharSequence sequence, int start) {
+        long low = this.low;
+        long high = this.high;
+        int length = sequence.length();
+        int i = start;
+        for (; i < length; i++) {
+            char c = sequence.charAt(i);
+            if (c < 64) {
+                if ((low & 1L << c) == 0) {
+                    break;
+                }
+            } else if (c < 128) {
+                if ((high & 1L << c) == 0) {
+                    break;
+                }
+            } else if (!containsNonAscii(c)) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    Set<Object> first() {
+        int size = Long.bitCount(low) + Long.bitCount(high);
+        for (int i = 0; i < ranges.length; i += 2) {
+            size += ranges[i + 1] - ranges[i] + 1;
+        }
+        if (size > MAX_FIRST) {
+            return null;
+        }
+        Set<Object> first = new HashSet<>();
+        for (char c = 0; c < 128; c++) {
+            if (contains(c)) {
+                first.add(c);
+            }
+        }
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (int c = ranges[i]; c <= ranges[i + 1]; c++) {
+                first.add((char) c);
+            }
+        }
+        return first;
+    }
+
+    private boolean containsNonAscii(char c) {
+        char[] ranges = this.ranges;
+        int lo = 0;
+        int hi = ranges.length / 2 - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c < ranges[mid * 2]) {
+                hi = mid - 1;
+            } else if (c > ranges[mid * 2 + 1]) {
+                lo = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CharClass)) {
+            return false;
+        }
+        CharClass other = (CharClass) obj;
+        return low == other.low && high == other.high && Arrays.equals(ranges, other.ranges);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.valueOf(low).hashCode() + Long.valueOf(high).hashCode()) + Arrays.hashCode(ranges);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int c = 0; c < 128; c++) {
+            if (contains((char) c)) {
+                int last = c;
+                while (last < 127 && contains((char) (last + 1))) {
+                    last++;
+                }
+                append(sb, c, last);
+                c = last;
+            }
+        }
+        for (int i = 0; i < ranges.length; i += 2) {
+            append(sb, ranges[i], ranges[i + 1]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void append(StringBuilder sb, int first, int last) {
+        appendChar(sb, first);
+        if (last > first) {
+            if (last > first + 1) {
+                sb.append('-');
+            }
+            appendChar(sb, last);
+        }
+    }
+
+    private static void appendChar(StringBuilder sb, int c) {
+        if (c < 32 || c >= 127 || c == '\\' || c == ']' || c == '-' || c == '^') {
+            sb.append(String.format("\\u%04X", c));
+        } else {
+            sb.append((char) c);
+        }
+    }
+}
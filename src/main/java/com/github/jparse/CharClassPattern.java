@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+final class CharClassPattern {
+
+    private static final CharClass ANY = CharClass.of("\n\r\u0085\u2028\u2029").negate();
+
+    private final String pattern;
+    int index;
+
+    CharClassPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    static CharClass[] parse(String pattern) {
+        return new CharClassPattern(pattern).parse();
+    }
+
+    private CharClass[] parse() {
+        CharClass first = atom();
+        if (first == null) {
+            return null;
+        }
+        if (index == pattern.length()) {
+            return isSingle(first) ? new CharClass[]{first, null} : null;
+        }
+        char c = pattern.charAt(index);
+        if (c == '*' || c == '+') {
+            index++;
+            return index == pattern.length() ? new CharClass[]{c == '+' ? first : null, first} : null;
+        }
+        CharClass second = atom();
+        if (second == null || !isSingle(first) || index != pattern.length() - 1 || pattern.charAt(index) != '*') {
+            return null;
+        }
+        return new CharClass[]{first, second};
+    }
+
+    private static boolean isSingle(CharClass charClass) {
+        return !charClass.contains('\uD800');
+    }
+
+    CharClass atom() {
+        if (index == pattern.length()) {
+            return null;
+        }
+        char c = pattern.charAt(index++);
+        switch (c) {
+            case '[':
+                return bracket();
+            case '\\':
+                return escape();
+            case '.':
+                return ANY;
+            case '(':
+            case ')':
+            case '{':
+            case '}':
+            case '|':
+            case '^':
+            case '$':
+            case '?':
+            case '*':
+            case '+':
+            case ']':
+                return null;
+            default:
+                return literal(c);
+        }
+    }
+
+    private CharClass bracket() {
+        boolean negated = index < pattern.length() && pattern.charAt(index) == '^';
+        if (negated) {
+            index++;
+        }
+        int open = index;
+        CharClass result = CharClass.of("");
+        while (index < pattern.length()) {
+            char c = pattern.charAt(index++);
+            if (c == ']' && index - 1 != open) {
+                return negated ? result.negate() : result;
+            }
+            boolean next = index < pattern.length();
+            if (c == '[' || c == ']' || c == '&' && next && pattern.charAt(index) == '&'
+                    || c == '-' && index - 1 != open && next && pattern.charAt(index) != ']') {
+                return null;
+            }
+            if (c == '\\' && next && "dws".indexOf(pattern.charAt(index)) >= 0) {
+                result = result.union(escape());
+                continue;
+            }
+            char first = c == '\\' ? escapedChar() : c;
+            char last = first;
+            if (index + 1 < pattern.length() && pattern.charAt(index) == '-' && pattern.charAt(index + 1) != ']') {
+                index++;
+                last = pattern.charAt(index++);
+                if (last == '\\') {
+                    last = escapedChar();
+                } else if (last == '[') {
+                    return null;
+                }
+            }
+            if (!isLiteral(first) || !isLiteral(last) || last < first || first < 0xE000 && last >= 0xD800) {
+                return null;
+            }
+            result = result.union(CharClass.range(first, last));
+        }
+        return null;
+    }
+
+    private CharClass escape() {
+        if (index == pattern.length()) {
+            return null;
+        }
+        char c = pattern.charAt(index);
+        switch (c) {
+            case 'd':
+                index++;
+                return CharClass.digit();
+            case 'w':
+                index++;
+                return CharClass.word();
+            case 's':
+                index++;
+                return CharClass.whitespace();
+            case 'D':
+                index++;
+                return CharClass.digit().negate();
+            case 'W':
+                index++;
+                return CharClass.word().negate();
+            case 'S':
+                index++;
+                return CharClass.whitespace().negate();
+            default:
+                char escaped = escapedChar();
+                return escaped == 0 ? null : literal(escaped);
+        }
+    }
+
+    private char escapedChar() {
+        if (index == pattern.length()) {
+            return 0;
+        }
+        char c = pattern.charAt(index++);
+        switch (c) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            default:
+                return c < 128 && !Character.isLetterOrDigit(c) ? c : 0;
+        }
+    }
+
+    private static boolean isLiteral(char c) {
+        return c != 0 && !Character.isSurrogate(c);
+    }
+
+    private static CharClass literal(char c) {
+        return isLiteral(c) ? CharClass.of(String.valueOf(c)) : null;
+    }
+}
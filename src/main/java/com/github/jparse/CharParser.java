@@ -24,25 +24,58 @@
 
 package com.github.jparse;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-abstract class CharParser<T> extends FluentParser<Character, T> {
+import static com.github.jparse.Sequences.toCharSequence;
+
+abstract class CharParser<T> extends CarrierParser<Character, T> {
 
     private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+    private static final Set<Character> WHITESPACE_FIRST = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(' ',
+            '\t', '\n', '\u000B', '\f', '\r')));
 
-    private final Pattern whitespacePattern;
+    final Pattern whitespacePattern;
+    final String message;
 
-    protected CharParser() {
-        this(WHITESPACE_PATTERN);
+    protected CharParser(String message) {
+        this(message, WHITESPACE_PATTERN);
     }
 
-    protected CharParser(Pattern whitespacePattern) {
+    protected CharParser(String message, Pattern whitespacePattern) {
+        this.message = message;
         this.whitespacePattern = whitespacePattern;
     }
 
+    @Override
+    void run(Sequence<Character> sequence, Carrier carrier) {
+        CharSequence charSequence = toCharSequence(sequence);
+        int start = handleWhitespace(charSequence);
+        int end = match(charSequence, start);
+        if (end < 0) {
+            carrier.failure(message, sequence.subSequence(start));
+        } else {
+            carrier.success(carrier.recognize ? null : value(charSequence, start, end), sequence.subSequence(end));
+        }
+    }
+
+    @Override
+    boolean isResumable() {
+        return true;
+    }
+
+    abstract int match(CharSequence sequence, int start);
+
+    abstract T value(CharSequence sequence, int start, int end);
+
     protected final int handleWhitespace(CharSequence sequence) {
-        if (whitespacePattern != null) {
+        if (whitespacePattern == WHITESPACE_PATTERN) {
+            return CharClass.whitespace().scan(sequence, 0);
+        } else if (whitespacePattern != null) {
             Matcher matcher = whitespacePattern.matcher(sequence);
             if (matcher.lookingAt()) {
                 return matcher.end();
@@ -50,4 +83,32 @@ abstract class CharParser<T> extends FluentParser<Character, T> {
         }
         return 0;
     }
+
+    final Set<Object> first(char c) {
+        Set<Object> first = whitespaceFirst();
+        if (first != null) {
+            first.add(c);
+        }
+        return first;
+    }
+
+    final Set<Object> first(String chars) {
+        Set<Object> first = whitespaceFirst();
+        if (first != null) {
+            for (int i = 0; i < chars.length(); i++) {
+                first.add(chars.charAt(i));
+            }
+        }
+        return first;
+    }
+
+    final Set<Object> whitespaceFirst() {
+        if (whitespacePattern == null) {
+            return new HashSet<>();
+        } else if (whitespacePattern == WHITESPACE_PATTERN) {
+            return new HashSet<Object>(WHITESPACE_FIRST);
+        } else {
+            return null;
+        }
+    }
 }
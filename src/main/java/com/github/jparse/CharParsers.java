@@ -24,6 +24,8 @@
 
 package com.github.jparse;
 
+import java.io.Reader;
+import java.util.Iterator;
 import java.util.regex.Pattern;
 
 public final class CharParsers {
@@ -40,11 +42,11 @@ public final class CharParsers {
     }
 
     public static FluentParser<Character, String> pattern(String pattern) {
-        return new PatternParser(Pattern.compile(pattern));
+        return patternParser(pattern);
     }
 
     public static FluentParser<Character, String> pattern(String pattern, Pattern whitespacePattern) {
-        return new PatternParser(Pattern.compile(pattern), whitespacePattern);
+        return patternParser(pattern, whitespacePattern);
     }
 
     public static FluentParser<Character, String> pattern(Pattern pattern) {
@@ -54,4 +56,149 @@ public final class CharParsers {
     public static FluentParser<Character, String> pattern(Pattern pattern, Pattern whitespacePattern) {
         return new PatternParser(pattern, whitespacePattern);
     }
+
+    public static FluentParser<Character, String> internedPattern(String pattern, TokenCache cache) {
+        return new InternParser(patternParser(pattern), cache);
+    }
+
+    public static FluentParser<Character, String> internedPattern(String pattern, Pattern whitespacePattern,
+            TokenCache cache) {
+        return new InternParser(patternParser(pattern, whitespacePattern), cache);
+    }
+
+    public static FluentParser<Character, String> internedPattern(Pattern pattern, TokenCache cache) {
+        return new InternParser(new PatternParser(pattern), cache);
+    }
+
+    public static FluentParser<Character, String> internedPattern(Pattern pattern, Pattern whitespacePattern,
+            TokenCache cache) {
+        return new InternParser(new PatternParser(pattern, whitespacePattern), cache);
+    }
+
+    public static FluentParser<Character, Span> literalSpan(String literal) {
+        return new SpanParser(new LiteralParser(literal));
+    }
+
+    public static FluentParser<Character, Span> literalSpan(String literal, Pattern whitespacePattern) {
+        return new SpanParser(new LiteralParser(literal, whitespacePattern));
+    }
+
+    public static FluentParser<Character, Span> patternSpan(String pattern) {
+        return new SpanParser(patternParser(pattern));
+    }
+
+    public static FluentParser<Character, Span> patternSpan(String pattern, Pattern whitespacePattern) {
+        return new SpanParser(patternParser(pattern, whitespacePattern));
+    }
+
+    public static FluentParser<Character, Span> patternSpan(Pattern pattern) {
+        return new SpanParser(new PatternParser(pattern));
+    }
+
+    public static FluentParser<Character, Span> patternSpan(Pattern pattern, Pattern whitespacePattern) {
+        return new SpanParser(new PatternParser(pattern, whitespacePattern));
+    }
+
+    public static FluentParser<Character, Integer> integer() {
+        return new IntegralParser<>("integer expected", Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static FluentParser<Character, Integer> integer(Pattern whitespacePattern) {
+        return new IntegralParser<>("integer expected", Integer.MIN_VALUE, Integer.MAX_VALUE, whitespacePattern);
+    }
+
+    public static FluentParser<Character, Long> longValue() {
+        return new IntegralParser<>("long expected", Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public static FluentParser<Character, Long> longValue(Pattern whitespacePattern) {
+        return new IntegralParser<>("long expected", Long.MIN_VALUE, Long.MAX_VALUE, whitespacePattern);
+    }
+
+    public static FluentParser<Character, Double> decimal() {
+        return new DecimalParser();
+    }
+
+    public static FluentParser<Character, Double> decimal(Pattern whitespacePattern) {
+        return new DecimalParser(whitespacePattern);
+    }
+
+    public static FluentParser<Character, String> charsWhile(CharClass charClass) {
+        return new CharsWhileParser(null, charClass, '\'' + charClass.toString() + "*' expected");
+    }
+
+    public static FluentParser<Character, String> charsWhile(CharClass charClass, Pattern whitespacePattern) {
+        return new CharsWhileParser(null, charClass, '\'' + charClass.toString() + "*' expected", whitespacePattern);
+    }
+
+    public static FluentParser<Character, String> charsWhile1(CharClass charClass) {
+        return new CharsWhileParser(charClass, charClass, '\'' + charClass.toString() + "+' expected");
+    }
+
+    public static FluentParser<Character, String> charsWhile1(CharClass charClass, Pattern whitespacePattern) {
+        return new CharsWhileParser(charClass, charClass, '\'' + charClass.toString() + "+' expected",
+                whitespacePattern);
+    }
+
+    public static FluentParser<Character, String> charsWhile1(CharClass first, CharClass rest) {
+        return new CharsWhileParser(first, rest, '\'' + first.toString() + rest.toString() + "*' expected");
+    }
+
+    public static FluentParser<Character, String> charsWhile1(CharClass first, CharClass rest,
+            Pattern whitespacePattern) {
+        return new CharsWhileParser(first, rest, '\'' + first.toString() + rest.toString() + "*' expected",
+                whitespacePattern);
+    }
+
+    public static FluentParser<Character, Character> charIn(CharClass charClass) {
+        return new CharInParser(charClass);
+    }
+
+    public static FluentParser<Character, Character> charIn(CharClass charClass, Pattern whitespacePattern) {
+        return new CharInParser(charClass, whitespacePattern);
+    }
+
+    public static FluentParser<Character, String> scanUntil(char delimiter) {
+        return new ScanUntilParser(String.valueOf(delimiter));
+    }
+
+    public static FluentParser<Character, String> scanUntil(char delimiter, Pattern whitespacePattern) {
+        return new ScanUntilParser(String.valueOf(delimiter), whitespacePattern);
+    }
+
+    public static FluentParser<Character, String> scanUntil(String delimiter) {
+        return new ScanUntilParser(delimiter);
+    }
+
+    public static FluentParser<Character, String> scanUntil(String delimiter, Pattern whitespacePattern) {
+        return new ScanUntilParser(delimiter, whitespacePattern);
+    }
+
+    public static FluentParser<Character, String> linearPattern(String pattern) {
+        return new LinearPatternParser(LinearPattern.compile(pattern));
+    }
+
+    public static FluentParser<Character, String> linearPattern(String pattern, Pattern whitespacePattern) {
+        return new LinearPatternParser(LinearPattern.compile(pattern), whitespacePattern);
+    }
+
+    public static <U> Iterator<U> stream(Parser<Character, U> parser, Reader reader) {
+        return new ReaderRecordIterator<>(parser, reader);
+    }
+
+    private static CharParser<String> patternParser(String pattern) {
+        CharClass[] classes = CharClassPattern.parse(pattern);
+        if (classes == null) {
+            return new PatternParser(Pattern.compile(pattern));
+        }
+        return new CharsWhileParser(classes[0], classes[1], '\'' + pattern + "' expected");
+    }
+
+    private static CharParser<String> patternParser(String pattern, Pattern whitespacePattern) {
+        CharClass[] classes = CharClassPattern.parse(pattern);
+        if (classes == null) {
+            return new PatternParser(Pattern.compile(pattern), whitespacePattern);
+        }
+        return new CharsWhileParser(classes[0], classes[1], '\'' + pattern + "' expected", whitespacePattern);
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+final class CharsWhileParser extends CharParser<String> {
+
+    private final CharClass head;
+    private final CharClass tail;
+
+    CharsWhileParser(CharClass head, CharClass tail, String message) {
+        super(message);
+        this.head = head;
+        this.tail = tail;
+    }
+
+    CharsWhileParser(CharClass head, CharClass tail, String message, Pattern whitespacePattern) {
+        super(message, whitespacePattern);
+        this.head = head;
+        this.tail = tail;
+    }
+
+    @Override
+    int match(CharSequence sequence, int start) {
+        int i = start;
+        if (head != null) {
+            if (i == sequence.length() || !head.contains(sequence.charAt(i))) {
+                return -1;
+            }
+            i++;
+        }
+        return tail == null ? i : tail.scan(sequence, i);
+    }
+
+    @Override
+    String value(CharSequence sequence, int start, int end) {
+        return sequence.subSequence(start, end).toString();
+    }
+
+    @Override
+    Production production() {
+        Set<Object> first = whitespaceFirst();
+        Set<Object> classFirst = (head == null ? tail : head).first();
+        if (first != null && classFirst != null) {
+            first.addAll(classFirst);
+        } else {
+            first = null;
+        }
+        return Production.terminal(head == null, first);
+    }
+}
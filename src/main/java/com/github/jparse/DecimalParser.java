@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.regex.Pattern;
+
+final class DecimalParser extends CharParser<Double> {
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final int MAX_DIGITS = 18;
+
+    DecimalParser() {
+        super("decimal expected");
+    }
+
+    DecimalParser(Pattern whitespacePattern) {
+        super("decimal expected", whitespacePattern);
+    }
+
+    @Override
+    int match(CharSequence sequence, int start) {
+        int length = sequence.length();
+        int i = start;
+        if (i < length && sequence.charAt(i) == '-') {
+            i++;
+        }
+        int digits = i;
+        i = skipDigits(sequence, i, length);
+        if (i == digits) {
+            return -1;
+        }
+        if (i + 1 < length && sequence.charAt(i) == '.' && isDigit(sequence.charAt(i + 1))) {
+            i = skipDigits(sequence, i + 1, length);
+        }
+        if (i < length && (sequence.charAt(i) == 'e' || sequence.charAt(i) == 'E')) {
+            int j = i + 1;
+            if (j < length && (sequence.charAt(j) == '+' || sequence.charAt(j) == '-')) {
+                j++;
+            }
+            if (j < length && isDigit(sequence.charAt(j))) {
+                i = skipDigits(sequence, j, length);
+            }
+        }
+        return i;
+    }
+
+    @Override
+    Double value(CharSequence sequence, int start, int end) {
+        int i = start;
+        boolean negative = sequence.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = sequence.charAt(i);
+            if (c == '.') {
+                fraction = true;
+                continue;
+            }
+            if (!isDigit(c)) {
+                break;
+            }
+            if (significant < MAX_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    significant++;
+                }
+                if (fraction) {
+                    exponent--;
+                }
+            } else {
+                truncated |= c != '0';
+                if (!fraction) {
+                    exponent++;
+                }
+            }
+        }
+        if (i < end) {
+            i++;
+            boolean negativeExponent = sequence.charAt(i) == '-';
+            if (negativeExponent || sequence.charAt(i) == '+') {
+                i++;
+            }
+            int value = 0;
+            for (; i < end && value < 100000; i++) {
+                value = value * 10 + (sequence.charAt(i) - '0');
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (!truncated && mantissa <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+            double result = mantissa;
+            if (exponent < 0) {
+                result /= POWERS_OF_TEN[-exponent];
+            } else {
+                result *= POWERS_OF_TEN[exponent];
+            }
+            return negative ? -result : result;
+        }
+        return Double.parseDouble(sequence.subSequence(start, end).toString());
+    }
+
+    @Override
+    Production production() {
+        return Production.terminal(false, first("-0123456789"));
+    }
+
+    private static int skipDigits(CharSequence sequence, int start, int end) {
+        int i = start;
+        while (i < end && isDigit(sequence.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
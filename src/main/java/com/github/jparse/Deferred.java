@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+abstract class Deferred {
+
+    private static final Object PENDING = new Object();
+    private Object value = PENDING;
+
+    abstract Object compute();
+
+    final Object get() {
+        if (value == PENDING) {
+            value = compute();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <U> U force(Object value) {
+        if (value instanceof Deferred) {
+            return (U) ((Deferred) value).get();
+        }
+        if (value instanceof Pair) {
+            Pair<?, ?> pair = (Pair<?, ?>) value;
+            Object left = force(pair.getLeft());
+            Object right = force(pair.getRight());
+            if (left != pair.getLeft() || right != pair.getRight()) {
+                return (U) Pair.create(left, right);
+            }
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> forced = null;
+            for (int i = 0; i < list.size(); i++) {
+                Object element = list.get(i);
+                Object forcedElement = force(element);
+                if (forced == null && forcedElement != element) {
+                    forced = new ArrayList<>(list.subList(0, i));
+                }
+                if (forced != null) {
+                    forced.add(forcedElement);
+                }
+            }
+            if (forced != null) {
+                return (U) Collections.unmodifiableList(forced);
+            }
+        }
+        return (U) value;
+    }
+}
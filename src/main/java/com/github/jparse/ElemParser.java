@@ -24,24 +24,36 @@
 
 package com.github.jparse;
 
-import static com.github.jparse.ParseResult.failure;
-import static com.github.jparse.ParseResult.success;
+import java.util.Collections;
+
 import static java.util.Objects.requireNonNull;
 
-final class ElemParser<T> extends FluentParser<T, T> {
+final class ElemParser<T> extends CarrierParser<T, T> {
 
     private final T elem;
+    private final String message;
 
     ElemParser(T elem) {
         this.elem = requireNonNull(elem);
+        message = '\'' + elem.toString() + "' expected";
     }
 
     @Override
-    public ParseResult<T, T> parse(Sequence<T> sequence) {
+    void run(Sequence<T> sequence, Carrier carrier) {
         if (sequence.length() != 0 && sequence.at(0).equals(elem)) {
-            return success(elem, sequence.subSequence(1));
+            carrier.success(elem, sequence.subSequence(1));
         } else {
-            return failure('\'' + elem.toString() + "' expected", sequence);
+            carrier.failure(message, sequence);
         }
     }
+
+    @Override
+    Production production() {
+        return Production.terminal(false, Collections.singleton(elem));
+    }
+
+    @Override
+    boolean isResumable() {
+        return true;
+    }
 }
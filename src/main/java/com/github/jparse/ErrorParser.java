@@ -24,9 +24,7 @@
 
 package com.github.jparse;
 
-import static com.github.jparse.ParseResult.error;
-
-final class ErrorParser<T, U> extends FluentParser<T, U> {
+final class ErrorParser<T, U> extends CarrierParser<T, U> {
 
     private final String message;
 
@@ -35,7 +33,12 @@ final class ErrorParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, U> parse(Sequence<T> sequence) {
-        return error(message, sequence);
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.error(message, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.error();
     }
 }
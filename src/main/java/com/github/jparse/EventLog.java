@@ -0,0 +1,209 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Arrays;
+
+final class EventLog {
+
+    static final byte START = 0;
+    static final byte END = 1;
+    static final byte TOKEN = 2;
+    static final byte NODE_START = 3;
+    static final byte NODE_END = 4;
+
+    private final ParseHandler handler;
+    private final int length;
+    private byte[] kinds = new byte[64];
+    private String[] names = new String[64];
+    private Object[] values = new Object[64];
+    private int[] codes = new int[64];
+    private int[] offsets = new int[64];
+    private int size;
+    private int flushed;
+
+    EventLog(ParseHandler handler, int length) {
+        this.handler = handler;
+        this.length = length;
+    }
+
+    static int mark(Carrier carrier) {
+        return carrier.events != null ? carrier.events.mark() : 0;
+    }
+
+    static void rollback(Carrier carrier, int mark) {
+        if (carrier.events == null) {
+            return;
+        }
+        if (mark < carrier.events.flushed && carrier.isFailure()) {
+            carrier.error(carrier.getMessage(), carrier.getRest());
+        }
+        carrier.events.truncate(mark);
+    }
+
+    static Segment segment(Carrier carrier, int mark) {
+        return carrier.events != null ? carrier.events.segment(mark) : null;
+    }
+
+    static void append(Carrier carrier, Segment segment) {
+        if (carrier.events != null) {
+            carrier.events.append(segment);
+        }
+    }
+
+    int mark() {
+        return flushed + size;
+    }
+
+    void truncate(int mark) {
+        int newSize = Math.max(mark - flushed, 0);
+        if (newSize < size) {
+            Arrays.fill(values, newSize, size, null);
+            size = newSize;
+        }
+    }
+
+    void add(byte kind, String name, Object value) {
+        add(kind, name, value, 0, 0);
+    }
+
+    void add(byte kind, int code, Sequence<?> sequence) {
+        add(kind, null, null, code, length - sequence.length());
+    }
+
+    private void add(byte kind, String name, Object value, int code, int offset) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            codes = Arrays.copyOf(codes, size * 2);
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        kinds[size] = kind;
+        names[size] = name;
+        values[size] = value;
+        codes[size] = code;
+        offsets[size] = offset;
+        size++;
+    }
+
+    Segment segment(int mark) {
+        int from = Math.max(mark - flushed, 0);
+        if (from == size) {
+            return null;
+        }
+        return new Segment(Arrays.copyOfRange(kinds, from, size), Arrays.copyOfRange(names, from, size),
+                Arrays.copyOfRange(values, from, size), Arrays.copyOfRange(codes, from, size),
+                Arrays.copyOfRange(offsets, from, size));
+    }
+
+    void append(Segment segment) {
+        if (segment == null) {
+            return;
+        }
+        for (int i = 0; i < segment.kinds.length; i++) {
+            add(segment.kinds[i], segment.names[i], segment.values[i], segment.codes[i], segment.offsets[i]);
+        }
+    }
+
+    Arena toArena() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (kinds[i] == NODE_START) {
+                count++;
+            }
+        }
+        Arena arena = new Arena(count);
+        int[] lastChild = new int[count];
+        int[] open = new int[16];
+        int depth = 0;
+        int lastRoot = -1;
+        for (int i = 0; i < size; i++) {
+            if (kinds[i] == NODE_START) {
+                int node = arena.add(codes[i], offsets[i]);
+                lastChild[node] = -1;
+                int previous = depth == 0 ? lastRoot : lastChild[open[depth - 1]];
+                if (previous >= 0) {
+                    arena.nextSibling[previous] = node;
+                } else if (depth > 0) {
+                    arena.firstChild[open[depth - 1]] = node;
+                }
+                if (depth == 0) {
+                    lastRoot = node;
+                } else {
+                    lastChild[open[depth - 1]] = node;
+                }
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, depth * 2);
+                }
+                open[depth++] = node;
+            } else if (kinds[i] == NODE_END) {
+                arena.end[open[--depth]] = offsets[i];
+            }
+        }
+        return arena;
+    }
+
+    void flush() {
+        if (handler == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            switch (kinds[i]) {
+                case START:
+                    handler.startRule(names[i]);
+                    break;
+                case END:
+                    handler.endRule(names[i]);
+                    break;
+                case TOKEN:
+                    handler.token(names[i], values[i]);
+                    break;
+                default:
+                    break;
+            }
+        }
+        Arrays.fill(values, 0, size, null);
+        flushed += size;
+        size = 0;
+    }
+
+    static final class Segment {
+
+        final byte[] kinds;
+        final String[] names;
+        final Object[] values;
+        final int[] codes;
+        final int[] offsets;
+
+        Segment(byte[] kinds, String[] names, Object[] values, int[] codes, int[] offsets) {
+            this.kinds = kinds;
+            this.names = names;
+            this.values = values;
+            this.codes = codes;
+            this.offsets = offsets;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static java.util.Objects.requireNonNull;
+
+final class EventParser<T, U> extends CarrierParser<T, U> {
+
+    private final Parser<T, ? extends U> parser;
+    private final String name;
+    private final boolean token;
+
+    EventParser(Parser<T, ? extends U> parser, String name, boolean token) {
+        this.parser = requireNonNull(parser);
+        this.name = requireNonNull(name);
+        this.token = token;
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        if (carrier.events == null) {
+            carrier.run(parser, sequence);
+            return;
+        }
+        int mark = start(carrier);
+        boolean recognize = carrier.recognize;
+        carrier.recognize = recognize && !token;
+        carrier.run(parser, sequence);
+        carrier.recognize = recognize;
+        end(carrier, mark);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        if (carrier.events == null) {
+            trampoline.call(parser, sequence);
+            return;
+        }
+        trampoline.push(new EventFrame(start(carrier), carrier.recognize));
+        carrier.recognize = carrier.recognize && !token;
+        trampoline.call(parser, sequence);
+    }
+
+    private int start(Carrier carrier) {
+        int mark = carrier.events.mark();
+        if (!token) {
+            carrier.events.add(EventLog.START, name, null);
+        }
+        return mark;
+    }
+
+    private void end(Carrier carrier, int mark) {
+        if (!carrier.isSuccess()) {
+            EventLog.rollback(carrier, mark);
+        } else if (token) {
+            carrier.events.add(EventLog.TOKEN, name, Deferred.force(carrier.getValue()));
+        } else {
+            carrier.events.add(EventLog.END, name, null);
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
+    }
+
+    private final class EventFrame extends Trampoline.Frame {
+
+        private final int mark;
+        private final boolean recognize;
+
+        EventFrame(int mark, boolean recognize) {
+            this.mark = mark;
+            this.recognize = recognize;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            carrier.recognize = recognize;
+            end(carrier, mark);
+        }
+    }
+}
@@ -49,14 +49,65 @@ public abstract class FluentParser<T, U> implements Parser<T, U> {
                 public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
                     return parser.parse(sequence);
                 }
+
+                @Override
+                Production production() {
+                    return Production.wrapper(parser);
+                }
             };
         }
     }
 
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.runOpaque(this, sequence);
+    }
+
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        run(sequence, carrier);
+    }
+
+    void finish(Sequence<T> sequence, Carrier carrier) {
+    }
+
+    Production production() {
+        return Production.opaque();
+    }
+
+    boolean isResumable() {
+        return false;
+    }
+
     public final <V> FluentParser<T, Pair<U, V>> then(Parser<T, V> parser) {
         return Parsers.then(this.parser, parser);
     }
 
+    public final <V, R> FluentParser<T, R> seq(Parser<T, V> parser2,
+            Function2<? super U, ? super V, ? extends R> function) {
+        return Parsers.seq(parser, parser2, function);
+    }
+
+    public final <V, W, R> FluentParser<T, R> seq(Parser<T, V> parser2, Parser<T, W> parser3,
+            Function3<? super U, ? super V, ? super W, ? extends R> function) {
+        return Parsers.seq(parser, parser2, parser3, function);
+    }
+
+    public final <V, W, X, R> FluentParser<T, R> seq(Parser<T, V> parser2, Parser<T, W> parser3,
+            Parser<T, X> parser4, Function4<? super U, ? super V, ? super W, ? super X, ? extends R> function) {
+        return Parsers.seq(parser, parser2, parser3, parser4, function);
+    }
+
+    public final <V, W, X, Y, R> FluentParser<T, R> seq(Parser<T, V> parser2, Parser<T, W> parser3,
+            Parser<T, X> parser4, Parser<T, Y> parser5,
+            Function5<? super U, ? super V, ? super W, ? super X, ? super Y, ? extends R> function) {
+        return Parsers.seq(parser, parser2, parser3, parser4, parser5, function);
+    }
+
+    public final <V, W, X, Y, Z, R> FluentParser<T, R> seq(Parser<T, V> parser2, Parser<T, W> parser3,
+            Parser<T, X> parser4, Parser<T, Y> parser5, Parser<T, Z> parser6,
+            Function6<? super U, ? super V, ? super W, ? super X, ? super Y, ? super Z, ? extends R> function) {
+        return Parsers.seq(parser, parser2, parser3, parser4, parser5, parser6, function);
+    }
+
     public final FluentParser<T, U> thenLeft(Parser<T, ?> parser) {
         return Parsers.thenLeft(this.parser, parser);
     }
@@ -69,6 +120,38 @@ public abstract class FluentParser<T, U> implements Parser<T, U> {
         return Parsers.orelse(this.parser, parser);
     }
 
+    public final FluentParser<T, Void> recognize() {
+        return Parsers.recognize(parser);
+    }
+
+    public final FluentParser<T, Void> handle(ParseHandler handler) {
+        return Parsers.handle(parser, handler);
+    }
+
+    public final FluentParser<T, U> event(String name) {
+        return Parsers.event(parser, name);
+    }
+
+    public final FluentParser<T, U> emit(String name) {
+        return Parsers.emit(parser, name);
+    }
+
+    public final FluentParser<T, U> commit() {
+        return Parsers.commit(parser);
+    }
+
+    public final FluentParser<T, Arena> arena() {
+        return Parsers.arena(parser);
+    }
+
+    public final FluentParser<T, U> node(int kind) {
+        return Parsers.node(parser, kind);
+    }
+
+    public final FluentParser<T, U> deferred() {
+        return Parsers.deferred(parser);
+    }
+
     public final FluentParser<T, U> opt() {
         return Parsers.opt(parser);
     }
@@ -89,6 +172,32 @@ public abstract class FluentParser<T, U> implements Parser<T, U> {
         return Parsers.repMN(parser, m, n);
     }
 
+    public final FluentParser<T, List<U>> sepBy(Parser<T, ?> separator) {
+        return Parsers.sepBy(parser, separator);
+    }
+
+    public final FluentParser<T, List<U>> sepBy1(Parser<T, ?> separator) {
+        return Parsers.sepBy1(parser, separator);
+    }
+
+    public final FluentParser<T, List<U>> endBy(Parser<T, ?> separator) {
+        return Parsers.endBy(parser, separator);
+    }
+
+    public final FluentParser<T, List<U>> endBy1(Parser<T, ?> separator) {
+        return Parsers.endBy1(parser, separator);
+    }
+
+    public final FluentParser<T, U> chainl1(
+            Parser<T, ? extends Function2<? super U, ? super U, ? extends U>> operator) {
+        return Parsers.chainl1(parser, operator);
+    }
+
+    public final FluentParser<T, U> chainr1(
+            Parser<T, ? extends Function2<? super U, ? super U, ? extends U>> operator) {
+        return Parsers.chainr1(parser, operator);
+    }
+
     public final <V> FluentParser<T, V> map(Function<? super U, ? extends V> function) {
         return Parsers.map(parser, function);
     }
@@ -116,4 +225,12 @@ public abstract class FluentParser<T, U> implements Parser<T, U> {
     public final FluentParser<T, U> named(String name) {
         return Parsers.named(parser, name);
     }
+
+    public final List<ParseResult<T, ? extends U>> parseAll(Iterable<? extends Sequence<T>> sequences) {
+        return new ParseSession().parseAll(parser, sequences);
+    }
+
+    public final FluentParser<T, U> stackless() {
+        return Parsers.stackless(parser);
+    }
 }
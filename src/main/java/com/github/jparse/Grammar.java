@@ -0,0 +1,427 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+public final class Grammar {
+
+    private final Map<Parser<?, ?>, Node> nodes = new IdentityHashMap<>();
+    private final List<Node> order = new ArrayList<>();
+    private final List<String> problems = new ArrayList<>();
+
+    private Grammar(Parser<?, ?> parser) {
+        discover(parser);
+        computeMayError();
+        computeNullable();
+        computeInfallible();
+        computeFirst();
+        computeLeftRecursion();
+        report();
+    }
+
+    public static Grammar analyze(Parser<?, ?> parser) {
+        return new Grammar(requireNonNull(parser));
+    }
+
+    public Set<Parser<?, ?>> getParsers() {
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+    public boolean isNullable(Parser<?, ?> parser) {
+        return node(parser).nullable;
+    }
+
+    public Set<Object> getFirst(Parser<?, ?> parser) {
+        Set<Object> first = node(parser).first;
+        return first != null ? Collections.unmodifiableSet(first) : null;
+    }
+
+    public boolean isLeftRecursive(Parser<?, ?> parser) {
+        return node(parser).leftRecursive;
+    }
+
+    public Set<Parser<?, ?>> getLeftRecursive() {
+        Set<Parser<?, ?>> leftRecursive = Collections.newSetFromMap(new IdentityHashMap<Parser<?, ?>, Boolean>());
+        for (Node node : order) {
+            if (node.leftRecursive) {
+                leftRecursive.add(node.parser);
+            }
+        }
+        return Collections.unmodifiableSet(leftRecursive);
+    }
+
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public void optimize() {
+        for (Node node : order) {
+            if (node.parser instanceof ParserRef) {
+                ((ParserRef<?, ?>) node.parser).freeze();
+            } else if (node.parser instanceof MemoParser) {
+                if (!node.leftRecursive && !node.leftOpaque) {
+                    ((MemoParser<?, ?>) node.parser).packrat();
+                }
+            } else if (node.parser instanceof OrelseParser) {
+                Node child = node.children[0];
+                if (!child.mayBeNullable && !child.mayError && child.first != null) {
+                    ((OrelseParser<?, ?>) node.parser).dispatch(child.first);
+                }
+            }
+        }
+    }
+
+    private Node node(Parser<?, ?> parser) {
+        Node node = nodes.get(parser);
+        if (node == null) {
+            throw new IllegalArgumentException();
+        }
+        return node;
+    }
+
+    private void discover(Parser<?, ?> parser) {
+        Queue<Node> queue = new ArrayDeque<>();
+        queue.add(add(parser));
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            Parser<?, ?>[] children = node.production.children;
+            node.children = new Node[children.length];
+            for (int i = 0; i < children.length; i++) {
+                Node child = nodes.get(children[i]);
+                if (child == null) {
+                    child = add(children[i]);
+                    queue.add(child);
+                }
+                node.children[i] = child;
+            }
+        }
+    }
+
+    private Node add(Parser<?, ?> parser) {
+        Production production;
+        if (parser instanceof FluentParser) {
+            production = ((FluentParser<?, ?>) parser).production();
+        } else {
+            production = Production.opaque();
+        }
+        Node node = new Node(parser, production);
+        nodes.put(parser, node);
+        order.add(node);
+        return node;
+    }
+
+    private void computeMayError() {
+        boolean changed;
+        do {
+            changed = false;
+            for (Node node : order) {
+                if (!node.mayError && mayError(node)) {
+                    node.mayError = true;
+                    changed = true;
+                }
+            }
+        } while (changed);
+    }
+
+    private static boolean mayError(Node node) {
+        switch (node.production.kind) {
+            case OPAQUE:
+            case ESCALATION:
+                return true;
+            case TERMINAL:
+                return node.production.error;
+            case DEMOTION:
+                return false;
+            default:
+                for (Node child : node.children) {
+                    if (child.mayError) {
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    private void computeNullable() {
+        boolean changed;
+        do {
+            changed = false;
+            for (Node node : order) {
+                if (!node.nullable && nullable(node, false)) {
+                    node.nullable = true;
+                    changed = true;
+                }
+                if (!node.mayBeNullable && nullable(node, true)) {
+                    node.mayBeNullable = true;
+                    changed = true;
+                }
+            }
+        } while (changed);
+    }
+
+    private static boolean nullable(Node node, boolean may) {
+        Production production = node.production;
+        switch (production.kind) {
+            case OPAQUE:
+                return may;
+            case TERMINAL:
+                return may ? production.mayBeNullable : production.nullable;
+            case SEQUENCE:
+                for (Node child : node.children) {
+                    if (!nullableChild(child, may)) {
+                        return false;
+                    }
+                }
+                return true;
+            case CHOICE:
+                for (Node child : node.children) {
+                    if (nullableChild(child, may)) {
+                        return true;
+                    }
+                }
+                return false;
+            case OPTIONAL:
+            case PREDICATE:
+                return true;
+            case REPEAT:
+                return production.min == 0 || nullableChild(node.children[0], may);
+            default:
+                return nullableChild(node.children[0], may);
+        }
+    }
+
+    private static boolean nullableChild(Node child, boolean may) {
+        return may ? child.mayBeNullable : child.nullable;
+    }
+
+    private void computeInfallible() {
+        boolean changed;
+        do {
+            changed = false;
+            for (Node node : order) {
+                if (!node.infallible && infallible(node)) {
+                    node.infallible = true;
+                    changed = true;
+                }
+            }
+        } while (changed);
+    }
+
+    private static boolean infallible(Node node) {
+        Production production = node.production;
+        switch (production.kind) {
+            case OPAQUE:
+            case PREDICATE:
+            case PHRASE:
+                return false;
+            case TERMINAL:
+                return production.infallible;
+            case SEQUENCE:
+                for (Node child : node.children) {
+                    if (!child.infallible) {
+                        return false;
+                    }
+                }
+                return true;
+            case CHOICE:
+                for (Node child : node.children) {
+                    if (child.infallible) {
+                        return true;
+                    }
+                }
+                return false;
+            case OPTIONAL:
+                return true;
+            case REPEAT:
+                return production.min == 0 || node.children[0].infallible;
+            case DEMOTION:
+                return node.children[0].infallible && !node.children[0].mayError;
+            default:
+                return node.children[0].infallible;
+        }
+    }
+
+    private void computeFirst() {
+        for (Node node : order) {
+            Production production = node.production;
+            if (production.kind == Production.Kind.OPAQUE) {
+                node.first = null;
+            } else if (production.kind == Production.Kind.TERMINAL && production.first == null) {
+                node.first = null;
+            } else if (production.kind == Production.Kind.TERMINAL) {
+                node.first.addAll(production.first);
+            }
+        }
+        boolean changed;
+        do {
+            changed = false;
+            for (Node node : order) {
+                if (node.production.kind == Production.Kind.PREDICATE) {
+                    continue;
+                }
+                for (Node child : leftChildren(node)) {
+                    changed |= node.addFirst(child);
+                }
+            }
+        } while (changed);
+    }
+
+    private void computeLeftRecursion() {
+        for (Node node : order) {
+            Set<Node> reachable = reachable(node, false);
+            node.leftRecursive = reachable.contains(node);
+            for (Node other : reachable) {
+                if (other.production.kind == Production.Kind.OPAQUE) {
+                    node.leftOpaque = true;
+                    break;
+                }
+            }
+            if (node.leftRecursive && !(node.parser instanceof MemoParser)) {
+                node.unguarded = reachable(node, true);
+                if (!node.unguarded.contains(node)) {
+                    node.unguarded = null;
+                }
+            }
+        }
+    }
+
+    private static Set<Node> reachable(Node node, boolean guarded) {
+        Set<Node> reachable = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+        Queue<Node> queue = new ArrayDeque<>(leftChildren(node));
+        while (!queue.isEmpty()) {
+            Node next = queue.remove();
+            if (reachable.add(next) && !(guarded && next.parser instanceof MemoParser)) {
+                queue.addAll(leftChildren(next));
+            }
+        }
+        return reachable;
+    }
+
+    private static List<Node> leftChildren(Node node) {
+        switch (node.production.kind) {
+            case OPAQUE:
+            case TERMINAL:
+                return Collections.emptyList();
+            case SEQUENCE:
+                List<Node> children = new ArrayList<>();
+                for (Node child : node.children) {
+                    children.add(child);
+                    if (!child.mayBeNullable) {
+                        break;
+                    }
+                }
+                return children;
+            default:
+                return Arrays.asList(node.children);
+        }
+    }
+
+    private void report() {
+        Set<Node> reported = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+        for (Node node : order) {
+            if (node.unguarded != null && reported.add(node)) {
+                problems.add("infinite left recursion through " + node.parser);
+                for (Node other : node.unguarded) {
+                    if (other.unguarded != null && other.unguarded.contains(node)) {
+                        reported.add(other);
+                    }
+                }
+            }
+            if (node.leftRecursive && node.parser instanceof PackratParser) {
+                problems.add("left-recursive packrat parser " + node.parser);
+            }
+            Production production = node.production;
+            if (production.kind == Production.Kind.REPEAT && production.max == -1 && node.children[0].nullable) {
+                problems.add("repetition of nullable parser " + node.children[0].parser + " in " + node.parser);
+            }
+            if (production.kind == Production.Kind.CHOICE) {
+                Node child1 = node.children[0];
+                Node child2 = node.children[1];
+                if (child1.infallible) {
+                    problems.add("unreachable alternative " + child2.parser + " in " + node.parser);
+                } else if (shadows(terminal(child1), terminal(child2))) {
+                    problems.add("alternative " + child2.parser + " shadowed by " + child1.parser + " in " +
+                            node.parser);
+                }
+            }
+        }
+    }
+
+    private static Production terminal(Node node) {
+        while (node.production.kind == Production.Kind.WRAPPER) {
+            node = node.children[0];
+        }
+        return node.production;
+    }
+
+    private static boolean shadows(Production production1, Production production2) {
+        return production1.literal != null && production2.literal != null &&
+                production1.whitespacePattern == production2.whitespacePattern &&
+                production2.literal.startsWith(production1.literal);
+    }
+
+    private static final class Node {
+
+        final Parser<?, ?> parser;
+        final Production production;
+        Node[] children;
+        boolean nullable;
+        boolean mayBeNullable;
+        boolean infallible;
+        boolean mayError;
+        Set<Object> first = new HashSet<>();
+        boolean leftRecursive;
+        boolean leftOpaque;
+        Set<Node> unguarded;
+
+        Node(Parser<?, ?> parser, Production production) {
+            this.parser = parser;
+            this.production = production;
+        }
+
+        boolean addFirst(Node child) {
+            if (first == null) {
+                return false;
+            }
+            if (child.first == null) {
+                first = null;
+                return true;
+            }
+            return first.addAll(child.first);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static com.github.jparse.StatefulSequences.stateful;
+import static java.util.Objects.requireNonNull;
+
+final class HandleParser<T> extends CarrierParser<T, Void> {
+
+    private final Parser<T, ?> parser;
+    private final ParseHandler handler;
+
+    HandleParser(Parser<T, ?> parser, ParseHandler handler) {
+        this.parser = requireNonNull(parser);
+        this.handler = requireNonNull(handler);
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        EventLog events = carrier.events;
+        boolean recognize = carrier.recognize;
+        carrier.events = new EventLog(handler, sequence.length());
+        carrier.recognize = true;
+        Sequence<T> input = stateful(sequence);
+        carrier.run(parser, input);
+        finish(carrier, events, recognize, input != sequence);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        Sequence<T> input = stateful(sequence);
+        trampoline.push(new HandleFrame(carrier.events, carrier.recognize, input != sequence));
+        carrier.events = new EventLog(handler, sequence.length());
+        carrier.recognize = true;
+        trampoline.call(parser, input);
+    }
+
+    private static void finish(Carrier carrier, EventLog events, boolean recognize, boolean wrapped) {
+        if (carrier.isSuccess()) {
+            carrier.events.flush();
+            carrier.setValue(null);
+        }
+        if (wrapped) {
+            carrier.unwrapRest();
+        }
+        carrier.events = events;
+        carrier.recognize = recognize;
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
+    }
+
+    private static final class HandleFrame extends Trampoline.Frame {
+
+        private final EventLog events;
+        private final boolean recognize;
+        private final boolean wrapped;
+
+        HandleFrame(EventLog events, boolean recognize, boolean wrapped) {
+            this.events = events;
+            this.recognize = recognize;
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            finish(carrier, events, recognize, wrapped);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.regex.Pattern;
+
+final class IntegralParser<T extends Number> extends CharParser<T> {
+
+    private final long min;
+    private final long max;
+
+    IntegralParser(String message, long min, long max) {
+        super(message);
+        this.min = min;
+        this.max = max;
+    }
+
+    IntegralParser(String message, long min, long max, Pattern whitespacePattern) {
+        super(message, whitespacePattern);
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    int match(CharSequence sequence, int start) {
+        int length = sequence.length();
+        int i = start;
+        boolean negative = i < length && sequence.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        int digits = i;
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = sequence.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (result < multmin) {
+                return -1;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return -1;
+            }
+            result -= digit;
+        }
+        return i == digits ? -1 : i;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    T value(CharSequence sequence, int start, int end) {
+        boolean negative = sequence.charAt(start) == '-';
+        long result = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            result = result * 10 - (sequence.charAt(i) - '0');
+        }
+        if (!negative) {
+            result = -result;
+        }
+        if (max == Long.MAX_VALUE) {
+            return (T) Long.valueOf(result);
+        } else {
+            return (T) Integer.valueOf((int) result);
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.terminal(false, first("-0123456789"));
+    }
+}
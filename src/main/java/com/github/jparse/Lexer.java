@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+public final class Lexer {
+
+    public static final int ERROR = -1;
+
+    private static final Lexer EMPTY = new Lexer(new int[0], new String[0], new CharClass[0], new CharClass[0],
+            CharClass.of(""));
+
+    private final int[] kinds;
+    private final String[] literals;
+    private final CharClass[] heads;
+    private final CharClass[] tails;
+    private final CharClass skip;
+    private final int[] edges;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] accepts;
+
+    private Lexer(int[] kinds, String[] literals, CharClass[] heads, CharClass[] tails, CharClass skip) {
+        this.kinds = kinds;
+        this.literals = literals;
+        this.heads = heads;
+        this.tails = tails;
+        this.skip = skip;
+        List<TreeMap<Character, Integer>> nodes = new ArrayList<>();
+        List<Integer> accepts = new ArrayList<>();
+        nodes.add(new TreeMap<Character, Integer>());
+        accepts.add(-1);
+        int edgeCount = 0;
+        for (int rule = 0; rule < literals.length; rule++) {
+            String literal = literals[rule];
+            if (literal == null) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < literal.length(); i++) {
+                Integer next = nodes.get(node).get(literal.charAt(i));
+                if (next == null) {
+                    next = nodes.size();
+                    nodes.get(node).put(literal.charAt(i), next);
+                    nodes.add(new TreeMap<Character, Integer>());
+                    accepts.add(-1);
+                    edgeCount++;
+                }
+                node = next;
+            }
+            if (accepts.get(node) < 0) {
+                accepts.set(node, rule);
+            }
+        }
+        edges = new int[nodes.size() + 1];
+        labels = new char[edgeCount];
+        targets = new int[edgeCount];
+        this.accepts = new int[nodes.size()];
+        int edge = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            edges[node] = edge;
+            this.accepts[node] = accepts.get(node);
+            for (Map.Entry<Character, Integer> entry : nodes.get(node).entrySet()) {
+                labels[edge] = entry.getKey();
+                targets[edge] = entry.getValue();
+                edge++;
+            }
+        }
+        edges[nodes.size()] = edge;
+    }
+
+    public static Lexer empty() {
+        return EMPTY;
+    }
+
+    public Lexer withLiteral(int kind, String literal) {
+        if (literal.isEmpty()) {
+            throw new IllegalArgumentException("empty literal");
+        }
+        return withRule(kind, literal, null, null);
+    }
+
+    public Lexer withToken(int kind, CharClass charClass) {
+        return withRule(kind, null, requireNonNull(charClass), charClass);
+    }
+
+    public Lexer withToken(int kind, CharClass head, CharClass tail) {
+        return withRule(kind, null, requireNonNull(head), tail);
+    }
+
+    public Lexer withSkip(CharClass charClass) {
+        return new Lexer(kinds, literals, heads, tails, skip.union(charClass));
+    }
+
+    private Lexer withRule(int kind, String literal, CharClass head, CharClass tail) {
+        if (kind < 0) {
+            throw new IllegalArgumentException("negative kind " + kind);
+        }
+        int rules = kinds.length;
+        int[] kinds = Arrays.copyOf(this.kinds, rules + 1);
+        String[] literals = Arrays.copyOf(this.literals, rules + 1);
+        CharClass[] heads = Arrays.copyOf(this.heads, rules + 1);
+        CharClass[] tails = Arrays.copyOf(this.tails, rules + 1);
+        kinds[rules] = kind;
+        literals[rules] = literal;
+        heads[rules] = head;
+        tails[rules] = tail;
+        return new Lexer(kinds, literals, heads, tails, skip);
+    }
+
+    public TokenSequence tokenize(CharSequence input) {
+        int length = input.length();
+        int[] tokens = new int[48];
+        int count = 0;
+        int i = skip.scan(input, 0);
+        while (i < length) {
+            int bestEnd = -1;
+            int bestRule = kinds.length;
+            int node = 0;
+            for (int j = i; j < length; j++) {
+                node = step(node, input.charAt(j));
+                if (node < 0) {
+                    break;
+                }
+                if (accepts[node] >= 0) {
+                    bestEnd = j + 1;
+                    bestRule = accepts[node];
+                }
+            }
+            for (int rule = 0; rule < kinds.length; rule++) {
+                CharClass head = heads[rule];
+                if (head == null || !head.contains(input.charAt(i))) {
+                    continue;
+                }
+                int end = tails[rule] == null ? i + 1 : tails[rule].scan(input, i + 1);
+                if (end > bestEnd || end == bestEnd && rule < bestRule) {
+                    bestEnd = end;
+                    bestRule = rule;
+                }
+            }
+            if (count * 3 == tokens.length) {
+                tokens = Arrays.copyOf(tokens, tokens.length * 2);
+            }
+            int end = bestEnd < 0 ? i + 1 : bestEnd;
+            tokens[count * 3] = bestEnd < 0 ? ERROR : kinds[bestRule];
+            tokens[count * 3 + 1] = i;
+            tokens[count * 3 + 2] = end;
+            count++;
+            i = skip.scan(input, end);
+        }
+        return new TokenSequence(input, tokens, 0, count);
+    }
+
+    private int step(int node, char c) {
+        int low = edges[node];
+        int high = edges[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < c) {
+                low = mid + 1;
+            } else if (labels[mid] > c) {
+                high = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+}
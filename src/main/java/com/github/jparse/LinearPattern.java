@@ -0,0 +1,613 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class LinearPattern {
+
+    private static final int CHAR = 0;
+    private static final int SPLIT = 1;
+    private static final int JUMP = 2;
+    private static final int BEGIN = 3;
+    private static final int END = 4;
+    private static final int MATCH = 5;
+    private static final int LOOP = 6;
+
+    private static final int MAX_REPEAT = 1000;
+    private static final int MAX_STATES = 4096;
+    private static final int MAX_TRANSITIONS = 4096;
+    private static final char SUPPLEMENTARY = '\uD800';
+
+    private final String pattern;
+    private final int[] ops;
+    private final int[] xs;
+    private final int[] ys;
+    private final CharClass[] classes;
+    private final long[] loops;
+    private Map<List<Integer>, State> states;
+    private volatile State initial;
+
+    private LinearPattern(String pattern, Program program) {
+        this.pattern = pattern;
+        int size = program.ops.size();
+        ops = new int[size];
+        xs = new int[size];
+        ys = new int[size];
+        for (int pc = 0; pc < size; pc++) {
+            int[] op = program.ops.get(pc);
+            ops[pc] = op[0];
+            xs[pc] = op[1];
+            ys[pc] = op[2];
+        }
+        classes = program.classes.toArray(new CharClass[size]);
+        loops = new long[size];
+        for (int i = 0; i < program.loops.size(); i++) {
+            loops[program.loops.get(i)] = 1L << i;
+        }
+        reset();
+    }
+
+    static LinearPattern compile(String pattern) {
+        Program program = new Program();
+        Parser parser = new Parser(pattern);
+        program.emit(parser.parse());
+        program.add(MATCH, 0, 0, null);
+        if (program.loops.size() > Long.SIZE) {
+            throw new IllegalArgumentException("unsupported pattern " + pattern);
+        }
+        return new LinearPattern(pattern, program);
+    }
+
+    boolean matchesEmpty() {
+        State state = initial;
+        return state.match || state.endMatch;
+    }
+
+    int match(CharSequence sequence, int start) {
+        State state = initial;
+        int length = sequence.length();
+        int last = state.match ? start : -1;
+        int i = start;
+        while (i < length && state.threads.length != 0) {
+            char c = sequence.charAt(i++);
+            if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(sequence.charAt(i))) {
+                c = SUPPLEMENTARY;
+                i++;
+            }
+            State next;
+            if (c < 128) {
+                next = state.ascii[c];
+            } else {
+                Transitions transitions = state.transitions;
+                next = transitions != null ? transitions.get(c) : null;
+            }
+            if (next == null) {
+                next = step(state, c);
+            }
+            state = next;
+            if (state.match) {
+                last = i;
+            }
+        }
+        if (i == length && state.endMatch) {
+            last = length;
+        }
+        return last;
+    }
+
+    private synchronized void reset() {
+        states = new HashMap<>();
+        List<Integer> threads = new ArrayList<>();
+        closure(0, true, threads, new HashMap<Long, BitSet>());
+        initial = new State(toArray(threads), isMatch(threads), endMatch(toArray(threads), true));
+    }
+
+    private synchronized State step(State state, char c) {
+        List<Integer> threads = new ArrayList<>();
+        Map<Long, BitSet> visited = new HashMap<>();
+        for (int thread : state.threads) {
+            if (ops[thread] == CHAR && classes[thread].contains(c) && closure(xs[thread], false, threads, visited)) {
+                break;
+            }
+        }
+        if (states.size() >= MAX_STATES) {
+            reset();
+        }
+        State next = state(threads);
+        if (c < 128) {
+            state.ascii[c] = next;
+        } else {
+            cache(state, c, next);
+        }
+        return next;
+    }
+
+    private static void cache(State state, char c, State next) {
+        Transitions transitions = state.transitions;
+        if (transitions == null) {
+            transitions = new Transitions(16);
+        } else if (transitions.size * 2 >= transitions.keys.length) {
+            if (transitions.keys.length >= MAX_TRANSITIONS) {
+                return;
+            }
+            transitions = transitions.grow();
+        }
+        transitions.put(c, next);
+        state.transitions = transitions;
+    }
+
+    private State state(List<Integer> threads) {
+        State state = states.get(threads);
+        if (state == null) {
+            int[] array = toArray(threads);
+            state = new State(array, isMatch(threads), endMatch(array, false));
+            states.put(threads, state);
+        }
+        return state;
+    }
+
+    private boolean isMatch(List<Integer> threads) {
+        return !threads.isEmpty() && ops[threads.get(threads.size() - 1)] == MATCH;
+    }
+
+    private static int[] toArray(List<Integer> threads) {
+        int[] array = new int[threads.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = threads.get(i);
+        }
+        return array;
+    }
+
+    private boolean closure(int pc, boolean atStart, List<Integer> threads, Map<Long, BitSet> visited) {
+        int[] stack = new int[8];
+        long[] masks = new long[8];
+        int size = 0;
+        stack[size] = pc;
+        masks[size++] = 0;
+        while (size > 0) {
+            int current = stack[--size];
+            long mask = masks[size];
+            int op = ops[current];
+            long key = op == SPLIT || op == JUMP || op == LOOP || op == BEGIN ? mask : 0;
+            BitSet seen = visited.get(key);
+            if (seen == null) {
+                seen = new BitSet();
+                visited.put(key, seen);
+            }
+            if (seen.get(current)) {
+                continue;
+            }
+            seen.set(current);
+            if (size + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                masks = Arrays.copyOf(masks, masks.length * 2);
+            }
+            switch (op) {
+                case SPLIT: {
+                    long loop = loops[current];
+                    stack[size] = ys[current];
+                    masks[size++] = ys[current] == current + 1 ? mask | loop : mask & ~loop;
+                    stack[size] = xs[current];
+                    masks[size++] = xs[current] == current + 1 ? mask | loop : mask & ~loop;
+                    break;
+                }
+                case JUMP:
+                    stack[size] = xs[current];
+                    masks[size++] = mask;
+                    break;
+                case LOOP: {
+                    long loop = loops[xs[current]];
+                    if ((mask & loop) != 0) {
+                        stack[size] = ys[current];
+                        masks[size++] = mask & ~loop;
+                    } else {
+                        stack[size] = xs[current];
+                        masks[size++] = mask;
+                    }
+                    break;
+                }
+                case BEGIN:
+                    if (atStart) {
+                        stack[size] = xs[current];
+                        masks[size++] = mask;
+                    }
+                    break;
+                case MATCH:
+                    threads.add(current);
+                    return true;
+                default:
+                    threads.add(current);
+                    break;
+            }
+        }
+        return false;
+    }
+
+    private boolean endMatch(int[] threads, boolean atStart) {
+        BitSet visited = new BitSet();
+        for (int thread : threads) {
+            int[] stack = {thread};
+            int size = 1;
+            while (size > 0) {
+                int current = stack[--size];
+                if (visited.get(current)) {
+                    continue;
+                }
+                visited.set(current);
+                if (size + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2 + 2);
+                }
+                switch (ops[current]) {
+                    case SPLIT:
+                        stack[size++] = ys[current];
+                        stack[size++] = xs[current];
+                        break;
+                    case JUMP:
+                    case LOOP:
+                    case END:
+                        stack[size++] = xs[current];
+                        break;
+                    case BEGIN:
+                        if (atStart) {
+                            stack[size++] = xs[current];
+                        }
+                        break;
+                    case MATCH:
+                        return true;
+                    default:
+                        break;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static final class State {
+
+        final int[] threads;
+        final boolean match;
+        final boolean endMatch;
+        final State[] ascii = new State[128];
+        volatile Transitions transitions;
+
+        State(int[] threads, boolean match, boolean endMatch) {
+            this.threads = threads;
+            this.match = match;
+            this.endMatch = endMatch;
+        }
+    }
+
+    private static final class Transitions {
+
+        final char[] keys;
+        final State[] states;
+        int size;
+
+        Transitions(int capacity) {
+            keys = new char[capacity];
+            states = new State[capacity];
+        }
+
+        State get(char c) {
+            int mask = keys.length - 1;
+            for (int i = index(c, mask); ; i = i + 1 & mask) {
+                char key = keys[i];
+                if (key == c) {
+                    return states[i];
+                }
+                if (key == 0) {
+                    return null;
+                }
+            }
+        }
+
+        void put(char c, State state) {
+            int mask = keys.length - 1;
+            int i = index(c, mask);
+            while (keys[i] != 0 && keys[i] != c) {
+                i = i + 1 & mask;
+            }
+            states[i] = state;
+            if (keys[i] == 0) {
+                keys[i] = c;
+                size++;
+            }
+        }
+
+        Transitions grow() {
+            Transitions transitions = new Transitions(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    transitions.put(keys[i], states[i]);
+                }
+            }
+            return transitions;
+        }
+
+        private static int index(char c, int mask) {
+            return c * 0x9E3779B9 >>> 16 & mask;
+        }
+    }
+
+    private static final class Node {
+
+        static final int CLASS = 0;
+        static final int CONCAT = 1;
+        static final int ALTERNATE = 2;
+        static final int REPEAT = 3;
+        static final int BEGIN = 4;
+        static final int END = 5;
+
+        final int kind;
+        final CharClass charClass;
+        final List<Node> children;
+        final int min;
+        final int max;
+        final boolean greedy;
+
+        Node(int kind, CharClass charClass, List<Node> children, int min, int max, boolean greedy) {
+            this.kind = kind;
+            this.charClass = charClass;
+            this.children = children;
+            this.min = min;
+            this.max = max;
+            this.greedy = greedy;
+        }
+    }
+
+    private static final class Parser {
+
+        private final String pattern;
+        private final CharClassPattern classes;
+
+        Parser(String pattern) {
+            this.pattern = pattern;
+            classes = new CharClassPattern(pattern);
+        }
+
+        Node parse() {
+            Node node = alternate();
+            if (classes.index != pattern.length()) {
+                throw unsupported();
+            }
+            return node;
+        }
+
+        private Node alternate() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(concat());
+            while (peek() == '|') {
+                classes.index++;
+                alternatives.add(concat());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Node(Node.ALTERNATE, null, alternatives, 0,
+                    0, false);
+        }
+
+        private Node concat() {
+            List<Node> items = new ArrayList<>();
+            while (classes.index < pattern.length() && peek() != '|' && peek() != ')') {
+                items.add(repeat(atom()));
+            }
+            return new Node(Node.CONCAT, null, items, 0, 0, false);
+        }
+
+        private Node repeat(Node node) {
+            while (classes.index < pattern.length()) {
+                int min;
+                int max;
+                char c = peek();
+                if (c == '*') {
+                    min = 0;
+                    max = -1;
+                } else if (c == '+') {
+                    min = 1;
+                    max = -1;
+                } else if (c == '?') {
+                    min = 0;
+                    max = 1;
+                } else if (c == '{') {
+                    int close = pattern.indexOf('}', classes.index);
+                    if (close < 0) {
+                        throw unsupported();
+                    }
+                    String[] bounds = pattern.substring(classes.index + 1, close).split(",", -1);
+                    try {
+                        min = Integer.parseInt(bounds[0]);
+                        max = bounds.length == 1 ? min : bounds[1].isEmpty() ? -1 : Integer.parseInt(bounds[1]);
+                    } catch (NumberFormatException e) {
+                        throw unsupported();
+                    }
+                    if (bounds.length > 2 || min < 0 || min > MAX_REPEAT || max > MAX_REPEAT || max != -1
+                            && max < min) {
+                        throw unsupported();
+                    }
+                    classes.index = close;
+                } else {
+                    return node;
+                }
+                classes.index++;
+                boolean greedy = true;
+                if (peek() == '?') {
+                    greedy = false;
+                    classes.index++;
+                } else if (peek() == '+') {
+                    throw unsupported();
+                }
+                node = new Node(Node.REPEAT, null, Arrays.asList(node), min, max, greedy);
+            }
+            return node;
+        }
+
+        private Node atom() {
+            char c = peek();
+            if (c == '(') {
+                classes.index++;
+                if (pattern.startsWith("?:", classes.index)) {
+                    classes.index += 2;
+                } else if (peek() == '?') {
+                    throw unsupported();
+                }
+                Node node = alternate();
+                if (peek() != ')') {
+                    throw unsupported();
+                }
+                classes.index++;
+                return node;
+            } else if (c == '^' || pattern.startsWith("\\A", classes.index)) {
+                classes.index += c == '^' ? 1 : 2;
+                return new Node(Node.BEGIN, null, null, 0, 0, false);
+            } else if (c == '$' || pattern.startsWith("\\z", classes.index)) {
+                classes.index += c == '$' ? 1 : 2;
+                return new Node(Node.END, null, null, 0, 0, false);
+            }
+            CharClass charClass = classes.atom();
+            if (charClass == null) {
+                throw unsupported();
+            }
+            return new Node(Node.CLASS, charClass, null, 0, 0, false);
+        }
+
+        private char peek() {
+            return classes.index < pattern.length() ? pattern.charAt(classes.index) : 0;
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("unsupported pattern " + pattern + " at index " + classes.index);
+        }
+    }
+
+    private static final class Program {
+
+        final List<int[]> ops = new ArrayList<>();
+        final List<CharClass> classes = new ArrayList<>();
+        final List<Integer> loops = new ArrayList<>();
+
+        int add(int op, int x, int y, CharClass charClass) {
+            ops.add(new int[]{op, x, y});
+            classes.add(charClass);
+            return ops.size() - 1;
+        }
+
+        void emit(Node node) {
+            switch (node.kind) {
+                case Node.CLASS:
+                    add(CHAR, ops.size() + 1, 0, node.charClass);
+                    break;
+                case Node.CONCAT:
+                    for (Node child : node.children) {
+                        emit(child);
+                    }
+                    break;
+                case Node.ALTERNATE: {
+                    List<Integer> jumps = new ArrayList<>();
+                    for (int i = 0; i < node.children.size() - 1; i++) {
+                        int split = add(SPLIT, ops.size() + 1, 0, null);
+                        emit(node.children.get(i));
+                        jumps.add(add(JUMP, 0, 0, null));
+                        ops.get(split)[2] = ops.size();
+                    }
+                    emit(node.children.get(node.children.size() - 1));
+                    for (int jump : jumps) {
+                        ops.get(jump)[1] = ops.size();
+                    }
+                    break;
+                }
+                case Node.REPEAT: {
+                    Node child = node.children.get(0);
+                    for (int i = 0; i < node.min; i++) {
+                        emit(child);
+                    }
+                    if (node.max == -1) {
+                        int split = add(SPLIT, 0, 0, null);
+                        if (nullable(child)) {
+                            loops.add(split);
+                        }
+                        emit(child);
+                        add(LOOP, split, ops.size() + 1, null);
+                        branch(split, split + 1, ops.size(), node.greedy);
+                    } else {
+                        List<Integer> splits = new ArrayList<>();
+                        for (int i = node.min; i < node.max; i++) {
+                            splits.add(add(SPLIT, 0, 0, null));
+                            emit(child);
+                        }
+                        for (int split : splits) {
+                            branch(split, split + 1, ops.size(), node.greedy);
+                        }
+                    }
+                    break;
+                }
+                case Node.BEGIN:
+                    add(BEGIN, ops.size() + 1, 0, null);
+                    break;
+                default:
+                    add(END, ops.size() + 1, 0, null);
+                    break;
+            }
+        }
+
+        private static boolean nullable(Node node) {
+            switch (node.kind) {
+                case Node.CLASS:
+                    return false;
+                case Node.CONCAT:
+                    for (Node child : node.children) {
+                        if (!nullable(child)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case Node.ALTERNATE:
+                    for (Node child : node.children) {
+                        if (nullable(child)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case Node.REPEAT:
+                    return node.min == 0 || nullable(node.children.get(0));
+                default:
+                    return true;
+            }
+        }
+
+        private void branch(int split, int body, int exit, boolean greedy) {
+            ops.get(split)[1] = greedy ? body : exit;
+            ops.get(split)[2] = greedy ? exit : body;
+        }
+    }
+}
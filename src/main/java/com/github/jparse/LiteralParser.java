@@ -24,11 +24,9 @@
 
 package com.github.jparse;
 
+import java.util.Set;
 import java.util.regex.Pattern;
 
-import static com.github.jparse.ParseResult.failure;
-import static com.github.jparse.ParseResult.success;
-import static com.github.jparse.Sequences.toCharSequence;
 import static java.util.Objects.requireNonNull;
 
 final class LiteralParser extends CharParser<String> {
@@ -36,23 +34,37 @@ final class LiteralParser extends CharParser<String> {
     private final String literal;
 
     LiteralParser(String literal) {
-        this.literal = requireNonNull(literal);
+        super('\'' + requireNonNull(literal) + "' expected");
+        this.literal = literal;
     }
 
     LiteralParser(String literal, Pattern whitespacePattern) {
-        super(whitespacePattern);
-        this.literal = requireNonNull(literal);
+        super('\'' + requireNonNull(literal) + "' expected", whitespacePattern);
+        this.literal = literal;
     }
 
     @Override
-    public ParseResult<Character, String> parse(Sequence<Character> sequence) {
-        CharSequence charSequence = toCharSequence(sequence);
-        int start = handleWhitespace(charSequence);
-        int end = start + literal.length();
-        if (end <= charSequence.length() && literal.contentEquals(charSequence.subSequence(start, end))) {
-            return success(literal, sequence.subSequence(end));
-        } else {
-            return failure('\'' + literal + "' expected", sequence.subSequence(start));
+    int match(CharSequence sequence, int start) {
+        int length = literal.length();
+        if (start + length > sequence.length()) {
+            return -1;
         }
+        for (int i = 0; i < length; i++) {
+            if (sequence.charAt(start + i) != literal.charAt(i)) {
+                return -1;
+            }
+        }
+        return start + length;
+    }
+
+    @Override
+    String value(CharSequence sequence, int start, int end) {
+        return literal;
+    }
+
+    @Override
+    Production production() {
+        Set<Object> first = literal.isEmpty() ? whitespaceFirst() : first(literal.charAt(0));
+        return Production.literal(literal, whitespacePattern, first);
     }
 }
@@ -29,7 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import static java.util.Objects.requireNonNull;
 
-final class LogParser<T, U> extends FluentParser<T, U> {
+final class LogParser<T, U> extends CarrierParser<T, U> {
 
     private static final State<Integer> INDENT = new State<Integer>() {
         @Override
@@ -50,9 +50,10 @@ final class LogParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
+    void run(Sequence<T> sequence, Carrier carrier) {
         if (!log.isDebugEnabled()) {
-            return parser.parse(sequence);
+            carrier.run(parser, sequence);
+            return;
         }
         int indent = INDENT.get(sequence);
         StringBuilder sb = new StringBuilder(indent);
@@ -61,9 +62,22 @@ final class LogParser<T, U> extends FluentParser<T, U> {
         }
         log.debug("{}{} <-- {}", sb, parser, sequence);
         INDENT.set(sequence, indent + 1);
-        ParseResult<T, ? extends U> result = parser.parse(sequence);
-        INDENT.set(sequence, INDENT.get(sequence) - 1);
-        log.debug("{}{} --> {}", sb, parser, result);
-        return result;
+        carrier.run(parser, sequence);
+        INDENT.set(sequence, indent);
+        log.debug("{}{} --> {}", sb, parser, carrier.toResult());
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        if (log.isDebugEnabled()) {
+            run(sequence, carrier);
+        } else {
+            trampoline.call(parser, sequence);
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
     }
 }
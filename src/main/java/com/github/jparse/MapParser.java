@@ -26,7 +26,7 @@ package com.github.jparse;
 
 import static java.util.Objects.requireNonNull;
 
-final class MapParser<T, U, V> extends FluentParser<T, V> {
+final class MapParser<T, U, V> extends CarrierParser<T, V> {
 
     private final Parser<T, ? extends U> parser;
     private final Function<? super U, ? extends V> function;
@@ -37,7 +37,36 @@ final class MapParser<T, U, V> extends FluentParser<T, V> {
     }
 
     @Override
-    public ParseResult<T, V> parse(Sequence<T> sequence) {
-        return parser.parse(sequence).map(function);
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.run(parser, sequence);
+        finish(sequence, carrier);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.wrap(this, parser, sequence);
+    }
+
+    @Override
+    void finish(Sequence<T> sequence, Carrier carrier) {
+        if (!carrier.isSuccess() || carrier.recognize) {
+            return;
+        }
+        if (carrier.defer) {
+            final Object value = carrier.getValue();
+            carrier.setValue(new Deferred() {
+                @Override
+                Object compute() {
+                    return function.apply(Deferred.<U>force(value));
+                }
+            });
+        } else {
+            carrier.setValue(function.apply(carrier.<U>getValue()));
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
     }
 }
@@ -24,114 +24,191 @@
 
 package com.github.jparse;
 
-import java.util.IdentityHashMap;
-import java.util.Map;
-
-import static com.github.jparse.ParseResult.failure;
 import static java.util.Objects.requireNonNull;
 
-final class MemoParser<T, U> extends FluentParser<T, U> {
+final class MemoParser<T, U> extends CarrierParser<T, U> {
 
     private static final int DETECTED = 1;
     private static final int SKIP = 2;
-    private static final State<Map<Sequence<?>, SequenceEntry>> SEQUENCE_ENTRIES = new State<Map<Sequence<?>,
-            SequenceEntry>>() {
-        @Override
-        protected Map<Sequence<?>, SequenceEntry> initialValue() {
-            return new IdentityHashMap<>();
-        }
-    };
     private final Parser<T, ? extends U> parser;
+    private volatile boolean packrat;
 
     MemoParser(Parser<T, ? extends U> parser) {
         this.parser = requireNonNull(parser);
     }
 
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        Map<Sequence<?>, SequenceEntry> sequenceEntries = SEQUENCE_ENTRIES.get(sequence);
-        SequenceEntry sequenceEntry = sequenceEntries.get(sequence);
-        if (sequenceEntry == null) {
-            sequenceEntry = new SequenceEntry();
-            sequenceEntries.put(sequence, sequenceEntry);
-            return setup(sequence, sequenceEntry);
-        }
-        ParserEntry parserEntry = sequenceEntry.parserEntries.get(parser);
-        if (parserEntry == null) {
-            return setup(sequence, sequenceEntry);
+    void run(Sequence<T> sequence, Carrier carrier) {
+        if (!BudgetMeter.step(sequence, carrier)) {
+            return;
+        }
+        if (packrat) {
+            PackratParser.run(this, parser, sequence, carrier);
+            return;
+        }
+        MemoTable table = MemoTable.get(sequence, carrier);
+        MemoTable.Position position = table.position(sequence);
+        MemoTable.Entry entry = table.get(position, this);
+        if (entry == null) {
+            setup(sequence, carrier, table, position);
         } else {
-            return recall(sequence, sequenceEntry, parserEntry);
+            recall(sequence, carrier, position, entry);
+        }
+    }
+
+    void packrat() {
+        packrat = true;
+    }
+
+    private void setup(Sequence<T> sequence, Carrier carrier, MemoTable table, MemoTable.Position position) {
+        MemoTable.Entry entry = table.put(position, this);
+        position.pins++;
+        grow(sequence, carrier, position, entry);
+        position.pins--;
+        if (!table.isEnabled(this)) {
+            table.remove(position, entry);
         }
     }
 
-    private ParseResult<T, ? extends U> setup(Sequence<T> sequence, SequenceEntry sequenceEntry) {
-        ParserEntry parserEntry = new ParserEntry();
-        sequenceEntry.parserEntries.put(parser, parserEntry);
-        sequenceEntry.stack = new StackEntry(parserEntry, sequenceEntry.stack);
-        ParseResult<T, ? extends U> result = parser.parse(sequence);
-        sequenceEntry.stack = sequenceEntry.stack.next;
-        if (parserEntry.state == SKIP) {
-            return result;
+    private void grow(Sequence<T> sequence, Carrier carrier, MemoTable.Position position, MemoTable.Entry entry) {
+        int mark = EventLog.mark(carrier);
+        position.stack = new MemoTable.StackEntry(entry, position.stack);
+        carrier.run(parser, sequence);
+        position.stack = position.stack.next;
+        if (entry.state == SKIP) {
+            return;
         }
-        if (parserEntry.state != DETECTED || !result.isSuccess()) {
-            parserEntry.result = result;
-            return result;
+        if (entry.state != DETECTED || !carrier.isSuccess()) {
+            entry.result = carrier.toResult();
+            entry.events = EventLog.segment(carrier, mark);
+            return;
         }
         while (true) {
-            ParseResult<T, ? extends U> oldResult = result;
-            parserEntry.result = oldResult;
-            result = parser.parse(sequence);
-            if (result.isError()) {
-                parserEntry.result = result;
-                return result;
+            ParseResult<?, ?> oldResult = carrier.toResult();
+            entry.result = oldResult;
+            entry.events = EventLog.segment(carrier, mark);
+            EventLog.rollback(carrier, mark);
+            carrier.run(parser, sequence);
+            if (carrier.isError()) {
+                entry.result = carrier.toResult();
+                return;
             }
-            if (result.isFailure() || result.getRest().length() >= oldResult.getRest().length()) {
-                return oldResult;
+            if (carrier.isFailure() || carrier.getRest().length() >= oldResult.getRest().length()) {
+                EventLog.rollback(carrier, mark);
+                carrier.set(oldResult);
+                EventLog.append(carrier, entry.events);
+                return;
             }
         }
     }
 
-    private ParseResult<T, ? extends U> recall(Sequence<T> sequence, SequenceEntry sequenceEntry,
-            ParserEntry parserEntry) {
-        if (parserEntry.state == SKIP) {
-            return parser.parse(sequence);
+    private void recall(Sequence<T> sequence, Carrier carrier, MemoTable.Position position, MemoTable.Entry entry) {
+        if (entry.state == SKIP) {
+            carrier.run(parser, sequence);
+            return;
         }
-        @SuppressWarnings("unchecked")
-        ParseResult<T, ? extends U> result = (ParseResult<T, ? extends U>) parserEntry.result;
-        if (result != null) {
-            return result;
+        if (entry.result != null) {
+            carrier.set(entry.result);
+            EventLog.append(carrier, entry.events);
+            return;
         }
-        StackEntry stack = sequenceEntry.stack;
-        ParserEntry entry = stack.parserEntry;
-        while (entry != parserEntry) {
-            entry.state = SKIP;
+        MemoTable.StackEntry stack = position.stack;
+        MemoTable.Entry next = stack.entry;
+        while (next != entry) {
+            next.state = SKIP;
             stack = stack.next;
-            entry = stack.parserEntry;
+            next = stack.entry;
         }
-        parserEntry.state = DETECTED;
-        return failure("infinite left recursion detected", sequence);
+        entry.state = DETECTED;
+        carrier.failure("infinite left recursion detected", sequence);
     }
 
-    private static final class SequenceEntry {
-
-        final Map<Parser<?, ?>, ParserEntry> parserEntries = new IdentityHashMap<>();
-        StackEntry stack;
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        if (!BudgetMeter.step(sequence, carrier)) {
+            return;
+        }
+        if (packrat) {
+            PackratParser.enter(this, parser, sequence, carrier, trampoline);
+            return;
+        }
+        MemoTable table = MemoTable.get(sequence, carrier);
+        MemoTable.Position position = table.position(sequence);
+        MemoTable.Entry entry = table.get(position, this);
+        if (entry == null) {
+            entry = table.put(position, this);
+            position.pins++;
+            position.stack = new MemoTable.StackEntry(entry, position.stack);
+            trampoline.push(new GrowFrame(sequence, table, position, entry, EventLog.mark(carrier)));
+            trampoline.call(parser, sequence);
+        } else if (entry.state == SKIP) {
+            trampoline.call(parser, sequence);
+        } else {
+            recall(sequence, carrier, position, entry);
+        }
     }
 
-    private static final class ParserEntry {
-
-        ParseResult<?, ?> result;
-        int state;
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
     }
 
-    private static final class StackEntry {
+    private final class GrowFrame extends Trampoline.Frame {
+
+        private final Sequence<T> sequence;
+        private final MemoTable table;
+        private final MemoTable.Position position;
+        private final MemoTable.Entry entry;
+        private final int mark;
+        private ParseResult<?, ?> oldResult;
+
+        GrowFrame(Sequence<T> sequence, MemoTable table, MemoTable.Position position, MemoTable.Entry entry,
+                int mark) {
+            this.sequence = sequence;
+            this.table = table;
+            this.position = position;
+            this.entry = entry;
+            this.mark = mark;
+        }
 
-        final ParserEntry parserEntry;
-        final StackEntry next;
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (oldResult == null) {
+                position.stack = position.stack.next;
+                if (entry.state == SKIP) {
+                    finish(trampoline);
+                    return;
+                }
+                if (entry.state != DETECTED || !carrier.isSuccess()) {
+                    entry.result = carrier.toResult();
+                    entry.events = EventLog.segment(carrier, mark);
+                    finish(trampoline);
+                    return;
+                }
+            } else if (carrier.isError()) {
+                entry.result = carrier.toResult();
+                finish(trampoline);
+                return;
+            } else if (carrier.isFailure() || carrier.getRest().length() >= oldResult.getRest().length()) {
+                EventLog.rollback(carrier, mark);
+                carrier.set(oldResult);
+                EventLog.append(carrier, entry.events);
+                finish(trampoline);
+                return;
+            }
+            oldResult = carrier.toResult();
+            entry.result = oldResult;
+            entry.events = EventLog.segment(carrier, mark);
+            EventLog.rollback(carrier, mark);
+            trampoline.call(parser, sequence);
+        }
 
-        private StackEntry(ParserEntry parserEntry, StackEntry next) {
-            this.parserEntry = parserEntry;
-            this.next = next;
+        private void finish(Trampoline trampoline) {
+            trampoline.pop();
+            position.pins--;
+            if (!table.isEnabled(MemoParser.this)) {
+                table.remove(position, entry);
+            }
         }
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+public final class MemoPolicy {
+
+    private static final MemoPolicy UNBOUNDED = new MemoPolicy(-1, -1, Collections.<Object>emptySet());
+
+    final int maxEntries;
+    final int window;
+    private final Set<Object> disabled;
+
+    private MemoPolicy(int maxEntries, int window, Set<Object> disabled) {
+        this.maxEntries = maxEntries;
+        this.window = window;
+        this.disabled = disabled;
+    }
+
+    public static MemoPolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    public MemoPolicy withMaxEntries(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException();
+        }
+        return new MemoPolicy(maxEntries, window, disabled);
+    }
+
+    public MemoPolicy withWindow(int window) {
+        if (window < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new MemoPolicy(maxEntries, window, disabled);
+    }
+
+    public MemoPolicy disable(Parser<?, ?> parser) {
+        Set<Object> disabled = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        disabled.addAll(this.disabled);
+        disabled.add(requireNonNull(parser));
+        return new MemoPolicy(maxEntries, window, Collections.unmodifiableSet(disabled));
+    }
+
+    public boolean isEnabled(Parser<?, ?> parser) {
+        return !disabled.contains(parser);
+    }
+
+    @Override
+    public String toString() {
+        return "MemoPolicy{maxEntries=" + maxEntries + ", window=" + window + ", disabled=" + disabled + '}';
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Arrays;
+
+final class MemoTable {
+
+    static final State<MemoTable> STATE = new State<MemoTable>() {
+        @Override
+        protected MemoTable initialValue() {
+            return new MemoTable(MemoPolicy.unbounded());
+        }
+
+        @Override
+        protected MemoTable reset(MemoTable value) {
+            value.clear();
+            return value;
+        }
+    };
+    private static final int MAX_GHOSTS = 1 << 16;
+    private final MemoPolicy policy;
+    private final LongMap<Position> positions = new LongMap<>();
+    private long[] ghosts;
+    private Object[] ghostRules;
+    private MemoTable[] modes;
+    private Position head;
+    private Position tail;
+    private int size;
+    private int furthest;
+    private int swept;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long recomputations;
+
+    MemoTable(MemoPolicy policy) {
+        this.policy = policy;
+    }
+
+    static MemoTable get(Sequence<?> sequence) {
+        return STATE.get(sequence);
+    }
+
+    static MemoTable get(Sequence<?> sequence, Carrier carrier) {
+        MemoTable table = STATE.get(sequence);
+        int mode = (carrier.recognize ? 1 : 0) | (carrier.events != null ? 2 : 0) | (carrier.defer ? 4 : 0);
+        if (mode == 0) {
+            return table;
+        }
+        if (table.modes == null) {
+            table.modes = new MemoTable[8];
+        }
+        if (table.modes[mode] == null) {
+            table.modes[mode] = new MemoTable(table.policy);
+        }
+        return table.modes[mode];
+    }
+
+    void clear() {
+        if (modes != null) {
+            for (MemoTable table : modes) {
+                if (table != null) {
+                    table.clear();
+                }
+            }
+        }
+        positions.clear();
+        if (ghosts != null) {
+            Arrays.fill(ghosts, -1);
+            Arrays.fill(ghostRules, null);
+        }
+        head = null;
+        tail = null;
+        size = 0;
+        furthest = 0;
+        swept = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        recomputations = 0;
+    }
+
+    boolean isEnabled(Parser<?, ?> rule) {
+        return policy.isEnabled(rule);
+    }
+
+    Position position(Sequence<?> sequence) {
+        long key = StatefulSequence.position(sequence);
+        Position position = positions.get(key);
+        if (position == null) {
+            position = new Position(key);
+            positions.put(key, position);
+            link(position);
+        } else if (position != tail) {
+            unlink(position);
+            link(position);
+        }
+        int offset = position.offset();
+        if (offset > furthest) {
+            furthest = offset;
+            if (policy.window >= 0 && furthest - swept > policy.window >> 1) {
+                sweep();
+            }
+        }
+        return position;
+    }
+
+    Entry get(Position position, Object rule) {
+        for (Entry entry = position.entries; entry != null; entry = entry.next) {
+            if (entry.rule == rule) {
+                hits++;
+                return entry;
+            }
+        }
+        misses++;
+        if (ghosts != null) {
+            int index = ghost(position.key, rule);
+            if (ghosts[index] == position.key && ghostRules[index] == rule) {
+                ghosts[index] = -1;
+                ghostRules[index] = null;
+                recomputations++;
+            }
+        }
+        return null;
+    }
+
+    Entry put(Position position, Object rule) {
+        Entry entry = new Entry(rule, position.entries);
+        position.entries = entry;
+        position.size++;
+        size++;
+        if (policy.maxEntries >= 0) {
+            Position next = head;
+            while (size > policy.maxEntries && next != tail) {
+                Position victim = next;
+                next = next.after;
+                if (victim.pins == 0 && victim != position) {
+                    evict(victim);
+                }
+            }
+        }
+        return entry;
+    }
+
+    void remove(Position position, Entry entry) {
+        Entry prev = null;
+        for (Entry next = position.entries; next != null; prev = next, next = next.next) {
+            if (next == entry) {
+                if (prev == null) {
+                    position.entries = next.next;
+                } else {
+                    prev.next = next.next;
+                }
+                position.size--;
+                size--;
+                return;
+            }
+        }
+    }
+
+    MemoStats stats() {
+        return new MemoStats(hits, misses, evictions, recomputations, size);
+    }
+
+    private void sweep() {
+        swept = furthest;
+        int start = furthest - policy.window;
+        Position next = head;
+        while (next != null) {
+            Position position = next;
+            next = next.after;
+            if (position.pins == 0 && position.offset() < start) {
+                evict(position);
+            }
+        }
+    }
+
+    private void remember(long key, Object rule) {
+        if (ghosts == null) {
+            int capacity = policy.maxEntries >= 0 ? Math.min(policy.maxEntries, MAX_GHOSTS - 1) : MAX_GHOSTS - 1;
+            ghosts = new long[Integer.highestOneBit(Math.max(capacity, 1)) << 1];
+            ghostRules = new Object[ghosts.length];
+            Arrays.fill(ghosts, -1);
+        }
+        int index = ghost(key, rule);
+        ghosts[index] = key;
+        ghostRules[index] = rule;
+    }
+
+    private int ghost(long key, Object rule) {
+        long hash = (key + 31L * System.identityHashCode(rule)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & ghosts.length - 1;
+    }
+
+    private void evict(Position position) {
+        for (Entry entry = position.entries; entry != null; entry = entry.next) {
+            remember(position.key, entry.rule);
+        }
+        positions.remove(position.key);
+        unlink(position);
+        size -= position.size;
+        evictions += position.size;
+    }
+
+    private void link(Position position) {
+        position.before = tail;
+        position.after = null;
+        if (tail == null) {
+            head = position;
+        } else {
+            tail.after = position;
+        }
+        tail = position;
+    }
+
+    private void unlink(Position position) {
+        if (position.before == null) {
+            head = position.after;
+        } else {
+            position.before.after = position.after;
+        }
+        if (position.after == null) {
+            tail = position.before;
+        } else {
+            position.after.before = position.before;
+        }
+    }
+
+    static final class Position {
+
+        final long key;
+        Entry entries;
+        StackEntry stack;
+        int size;
+        int pins;
+        Position before;
+        Position after;
+
+        Position(long key) {
+            this.key = key;
+        }
+
+        int offset() {
+            return (int) (key >>> 32);
+        }
+    }
+
+    static final class Entry {
+
+        final Object rule;
+        Entry next;
+        ParseResult<?, ?> result;
+        EventLog.Segment events;
+        int state;
+
+        Entry(Object rule, Entry next) {
+            this.rule = rule;
+            this.next = next;
+        }
+    }
+
+    static final class StackEntry {
+
+        final Entry entry;
+        final StackEntry next;
+
+        StackEntry(Entry entry, StackEntry next) {
+            this.entry = entry;
+            this.next = next;
+        }
+    }
+}
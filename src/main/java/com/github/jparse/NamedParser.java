@@ -26,7 +26,7 @@ package com.github.jparse;
 
 import static java.util.Objects.requireNonNull;
 
-final class NamedParser<T, U> extends FluentParser<T, U> {
+final class NamedParser<T, U> extends CarrierParser<T, U> {
 
     private final Parser<T, ? extends U> parser;
     private final String name;
@@ -37,8 +37,18 @@ final class NamedParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        return parser.parse(sequence);
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.run(parser, sequence);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.call(parser, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
     }
 
     @Override
@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static java.util.Objects.requireNonNull;
+
+final class NodeParser<T, U> extends CarrierParser<T, U> {
+
+    private final Parser<T, ? extends U> parser;
+    private final int kind;
+
+    NodeParser(Parser<T, ? extends U> parser, int kind) {
+        this.parser = requireNonNull(parser);
+        this.kind = kind;
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        if (carrier.events == null) {
+            carrier.run(parser, sequence);
+            return;
+        }
+        int mark = carrier.events.mark();
+        carrier.events.add(EventLog.NODE_START, kind, sequence);
+        carrier.run(parser, sequence);
+        end(carrier, mark);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        if (carrier.events == null) {
+            trampoline.call(parser, sequence);
+            return;
+        }
+        trampoline.push(new NodeFrame(carrier.events.mark()));
+        carrier.events.add(EventLog.NODE_START, kind, sequence);
+        trampoline.call(parser, sequence);
+    }
+
+    private void end(Carrier carrier, int mark) {
+        if (carrier.isSuccess()) {
+            carrier.events.add(EventLog.NODE_END, kind, carrier.getRest());
+        } else {
+            EventLog.rollback(carrier, mark);
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
+    }
+
+    private final class NodeFrame extends Trampoline.Frame {
+
+        private final int mark;
+
+        NodeFrame(int mark) {
+            this.mark = mark;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            end(carrier, mark);
+        }
+    }
+}
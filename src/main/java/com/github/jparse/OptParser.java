@@ -24,10 +24,9 @@
 
 package com.github.jparse;
 
-import static com.github.jparse.ParseResult.success;
 import static java.util.Objects.requireNonNull;
 
-final class OptParser<T, U> extends FluentParser<T, U> {
+final class OptParser<T, U> extends CarrierParser<T, U> {
 
     private final Parser<T, ? extends U> parser;
 
@@ -36,12 +35,44 @@ final class OptParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        ParseResult<T, ? extends U> result = parser.parse(sequence);
-        if (result.isFailure()) {
-            return success(null, sequence);
-        } else {
-            return result;
+    void run(Sequence<T> sequence, Carrier carrier) {
+        Object snapshot = ParseContext.snapshot(sequence);
+        carrier.run(parser, sequence);
+        finish(sequence, carrier, snapshot);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new OptFrame(sequence));
+        trampoline.call(parser, sequence);
+    }
+
+    private static void finish(Sequence<?> sequence, Carrier carrier, Object snapshot) {
+        if (carrier.isFailure()) {
+            ParseContext.restore(sequence, snapshot);
+            carrier.success(null, sequence);
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.optional(parser);
+    }
+
+    private final class OptFrame extends Trampoline.Frame {
+
+        private final Sequence<T> sequence;
+        private final Object snapshot;
+
+        OptFrame(Sequence<T> sequence) {
+            this.sequence = sequence;
+            snapshot = ParseContext.snapshot(sequence);
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            finish(sequence, carrier, snapshot);
         }
     }
 }
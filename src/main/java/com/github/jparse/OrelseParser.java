@@ -24,12 +24,16 @@
 
 package com.github.jparse;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static java.util.Objects.requireNonNull;
 
-final class OrelseParser<T, U> extends FluentParser<T, U> {
+final class OrelseParser<T, U> extends CarrierParser<T, U> {
 
     private final Parser<T, ? extends U> parser1;
     private final Parser<T, ? extends U> parser2;
+    private volatile Set<Object> dispatch;
 
     OrelseParser(Parser<T, ? extends U> parser1, Parser<T, ? extends U> parser2) {
         this.parser1 = requireNonNull(parser1);
@@ -37,19 +41,91 @@ final class OrelseParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        ParseResult<T, ? extends U> result1 = parser1.parse(sequence);
-        if (!result1.isFailure()) {
-            return result1;
-        }
-        ParseResult<T, ? extends U> result2 = parser2.parse(sequence);
-        if (!result2.isFailure()) {
-            return result2;
-        }
-        if (result1.getRest().length() < result2.getRest().length()) {
-            return result1;
-        } else {
-            return result2;
+    void run(Sequence<T> sequence, Carrier carrier) {
+        if (!BudgetMeter.step(sequence, carrier)) {
+            return;
+        }
+        Set<Object> dispatch = this.dispatch;
+        if (dispatch != null && (sequence.length() == 0 || !dispatches(dispatch, sequence.at(0)))) {
+            carrier.run(parser2, sequence);
+            return;
+        }
+        Object snapshot = ParseContext.snapshot(sequence);
+        carrier.run(parser1, sequence);
+        if (!carrier.isFailure()) {
+            return;
+        }
+        String message1 = carrier.getMessage();
+        Sequence<T> rest1 = carrier.getRest();
+        if (!BudgetMeter.backtrack(sequence, carrier)) {
+            return;
+        }
+        ParseContext.restore(sequence, snapshot);
+        carrier.run(parser2, sequence);
+        if (carrier.isFailure() && rest1.length() < carrier.getRest().length()) {
+            carrier.failure(message1, rest1);
+        }
+    }
+
+    void dispatch(Set<Object> first) {
+        dispatch = new HashSet<>(first);
+    }
+
+    private static boolean dispatches(Set<Object> dispatch, Object head) {
+        return dispatch.contains(head) || head instanceof Token && dispatch.contains(((Token) head).getKind());
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        if (!BudgetMeter.step(sequence, carrier)) {
+            return;
+        }
+        Set<Object> dispatch = this.dispatch;
+        if (dispatch != null && (sequence.length() == 0 || !dispatches(dispatch, sequence.at(0)))) {
+            trampoline.call(parser2, sequence);
+            return;
+        }
+        trampoline.push(new OrelseFrame(sequence));
+        trampoline.call(parser1, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.choice(parser1, parser2);
+    }
+
+    @Override
+    boolean isResumable() {
+        return true;
+    }
+
+    private final class OrelseFrame extends Trampoline.Frame {
+
+        private final Sequence<T> sequence;
+        private final Object snapshot;
+        private String message1;
+        private Sequence<T> rest1;
+
+        OrelseFrame(Sequence<T> sequence) {
+            this.sequence = sequence;
+            snapshot = ParseContext.snapshot(sequence);
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (rest1 != null) {
+                trampoline.pop();
+                if (carrier.isFailure() && rest1.length() < carrier.getRest().length()) {
+                    carrier.failure(message1, rest1);
+                }
+            } else if (!carrier.isFailure() || !BudgetMeter.backtrack(sequence, carrier)) {
+                trampoline.pop();
+            } else {
+                message1 = carrier.getMessage();
+                rest1 = carrier.getRest();
+                ParseContext.restore(sequence, snapshot);
+                trampoline.call(parser2, sequence);
+            }
         }
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static java.util.Objects.requireNonNull;
+
+final class PackratParser<T, U> extends CarrierParser<T, U> {
+
+    private final Parser<T, ? extends U> parser;
+
+    PackratParser(Parser<T, ? extends U> parser) {
+        this.parser = requireNonNull(parser);
+    }
+
+    static <T> void run(Parser<?, ?> rule, Parser<T, ?> parser, Sequence<T> sequence, Carrier carrier) {
+        MemoTable table = MemoTable.get(sequence, carrier);
+        if (!table.isEnabled(rule)) {
+            carrier.run(parser, sequence);
+            return;
+        }
+        MemoTable.Entry entry = table.get(table.position(sequence), rule);
+        if (entry != null) {
+            carrier.set(entry.result);
+            EventLog.append(carrier, entry.events);
+            return;
+        }
+        int mark = EventLog.mark(carrier);
+        carrier.run(parser, sequence);
+        entry = table.put(table.position(sequence), rule);
+        entry.result = carrier.toResult();
+        entry.events = EventLog.segment(carrier, mark);
+    }
+
+    static <T> void enter(Parser<?, ?> rule, Parser<T, ?> parser, Sequence<T> sequence, Carrier carrier,
+            Trampoline trampoline) {
+        MemoTable table = MemoTable.get(sequence, carrier);
+        if (!table.isEnabled(rule)) {
+            trampoline.call(parser, sequence);
+            return;
+        }
+        MemoTable.Entry entry = table.get(table.position(sequence), rule);
+        if (entry != null) {
+            carrier.set(entry.result);
+            EventLog.append(carrier, entry.events);
+            return;
+        }
+        trampoline.push(new PackratFrame(rule, table, sequence, EventLog.mark(carrier)));
+        trampoline.call(parser, sequence);
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        if (!BudgetMeter.step(sequence, carrier)) {
+            return;
+        }
+        run(this, parser, sequence, carrier);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        if (!BudgetMeter.step(sequence, carrier)) {
+            return;
+        }
+        enter(this, parser, sequence, carrier, trampoline);
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
+    }
+
+    private static final class PackratFrame extends Trampoline.Frame {
+
+        private final Parser<?, ?> rule;
+        private final MemoTable table;
+        private final Sequence<?> sequence;
+        private final int mark;
+
+        PackratFrame(Parser<?, ?> rule, MemoTable table, Sequence<?> sequence, int mark) {
+            this.rule = rule;
+            this.table = table;
+            this.sequence = sequence;
+            this.mark = mark;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            MemoTable.Entry entry = table.put(table.position(sequence), rule);
+            entry.result = carrier.toResult();
+            entry.events = EventLog.segment(carrier, mark);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+public final class ParseBudget {
+
+    private static final ParseBudget UNLIMITED = new ParseBudget(-1, -1, -1, null);
+
+    final long maxSteps;
+    final int maxBacktracks;
+    final long timeoutNanos;
+    final CancellationToken cancellation;
+
+    private ParseBudget(long maxSteps, int maxBacktracks, long timeoutNanos, CancellationToken cancellation) {
+        this.maxSteps = maxSteps;
+        this.maxBacktracks = maxBacktracks;
+        this.timeoutNanos = timeoutNanos;
+        this.cancellation = cancellation;
+    }
+
+    public static ParseBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public ParseBudget withMaxSteps(long maxSteps) {
+        if (maxSteps < 1) {
+            throw new IllegalArgumentException();
+        }
+        return new ParseBudget(maxSteps, maxBacktracks, timeoutNanos, cancellation);
+    }
+
+    public ParseBudget withMaxBacktracks(int maxBacktracks) {
+        if (maxBacktracks < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new ParseBudget(maxSteps, maxBacktracks, timeoutNanos, cancellation);
+    }
+
+    public ParseBudget withTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new ParseBudget(maxSteps, maxBacktracks, unit.toNanos(timeout), cancellation);
+    }
+
+    public ParseBudget withCancellation(CancellationToken cancellation) {
+        return new ParseBudget(maxSteps, maxBacktracks, timeoutNanos, requireNonNull(cancellation));
+    }
+
+    @Override
+    public String toString() {
+        return "ParseBudget{maxSteps=" + maxSteps + ", maxBacktracks=" + maxBacktracks + ", timeoutNanos=" +
+                timeoutNanos + ", cancellation=" + cancellation + '}';
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+final class ParseContext {
+
+    private static final Object[] NO_BINDINGS = new Object[0];
+
+    final Map<Object, Object> states = new IdentityHashMap<>();
+    Object[] bindings = NO_BINDINGS;
+    BudgetMeter meter;
+    Carrier carrier;
+
+    static Object snapshot(Sequence<?> sequence) {
+        return sequence instanceof StatefulSequence ? ((StatefulSequence<?>) sequence).context.bindings : null;
+    }
+
+    static Carrier carrier(Sequence<?> sequence) {
+        return sequence instanceof StatefulSequence ? ((StatefulSequence<?>) sequence).context.carrier : null;
+    }
+
+    static void restore(Sequence<?> sequence, Object snapshot) {
+        if (sequence instanceof StatefulSequence) {
+            ((StatefulSequence<?>) sequence).context.bindings = (Object[]) snapshot;
+        }
+    }
+
+    int find(Object key) {
+        for (int i = 0; i < bindings.length; i += 2) {
+            if (bindings[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void bind(Object key, Object value) {
+        int index = find(key);
+        Object[] copy;
+        if (index < 0) {
+            copy = Arrays.copyOf(bindings, bindings.length + 2);
+            copy[bindings.length] = key;
+            copy[bindings.length + 1] = value;
+        } else {
+            copy = bindings.clone();
+            copy[index + 1] = value;
+        }
+        bindings = copy;
+    }
+
+    void unbind(Object key) {
+        int index = find(key);
+        if (index >= 0) {
+            Object[] copy = new Object[bindings.length - 2];
+            System.arraycopy(bindings, 0, copy, 0, index);
+            System.arraycopy(bindings, index + 2, copy, index, copy.length - index);
+            bindings = copy;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void reset() {
+        Iterator<Map.Entry<Object, Object>> iterator = states.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Object> entry = iterator.next();
+            Object value = ((State<Object>) entry.getKey()).reset(entry.getValue());
+            if (value == null) {
+                iterator.remove();
+            } else {
+                entry.setValue(value);
+            }
+        }
+        Object[] copy = bindings.clone();
+        int length = 0;
+        for (int i = 0; i < copy.length; i += 2) {
+            Object value = ((State<Object>) copy[i]).reset(copy[i + 1]);
+            if (value != null) {
+                copy[length++] = copy[i];
+                copy[length++] = value;
+            }
+        }
+        bindings = length == 0 ? NO_BINDINGS : Arrays.copyOf(copy, length);
+        meter = null;
+        carrier = null;
+    }
+}
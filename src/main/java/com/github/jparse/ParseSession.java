@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+public final class ParseSession {
+
+    private final ParseContext context = new ParseContext();
+    private final MemoPolicy policy;
+    private MemoTable table;
+
+    public ParseSession() {
+        this(MemoPolicy.unbounded());
+    }
+
+    public ParseSession(MemoPolicy policy) {
+        this.policy = requireNonNull(policy);
+    }
+
+    public <T> Sequence<T> reset(Sequence<T> sequence) {
+        context.reset();
+        Sequence<T> statefulSequence = new StatefulSequence<>(sequence, context);
+        if (table == null) {
+            table = new MemoTable(policy);
+        }
+        MemoTable.STATE.set(statefulSequence, table);
+        return statefulSequence;
+    }
+
+    public <T, U> ParseResult<T, ? extends U> parse(Parser<T, U> parser, Sequence<T> sequence) {
+        return parser.parse(reset(sequence));
+    }
+
+    public <T, U> List<ParseResult<T, ? extends U>> parseAll(Parser<T, U> parser,
+            Iterable<? extends Sequence<T>> sequences) {
+        List<ParseResult<T, ? extends U>> results = new ArrayList<>();
+        for (Sequence<T> sequence : sequences) {
+            results.add(parse(parser, sequence));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+public final class ParserRef<T, U> extends CarrierParser<T, U> {
+
+    private volatile Parser<T, ? extends U> parser;
+    private volatile Supplier<? extends Parser<T, ? extends U>> supplier;
+    private Parser<T, ? extends U> target;
+
+    ParserRef() {
+    }
+
+    ParserRef(Supplier<? extends Parser<T, ? extends U>> supplier) {
+        this.supplier = requireNonNull(supplier);
+    }
+
+    public synchronized void set(Parser<T, ? extends U> parser) {
+        requireNonNull(parser);
+        if (this.parser != null || supplier != null) {
+            throw new IllegalStateException("reference already set");
+        }
+        this.parser = parser;
+    }
+
+    public Parser<T, ? extends U> get() {
+        Parser<T, ? extends U> target = parser;
+        return target != null ? target : resolve();
+    }
+
+    private synchronized Parser<T, ? extends U> resolve() {
+        if (parser == null) {
+            if (supplier == null) {
+                throw new IllegalStateException("reference not set");
+            }
+            parser = requireNonNull(supplier.get());
+            supplier = null;
+        }
+        return parser;
+    }
+
+    boolean isSet() {
+        return parser != null || supplier != null;
+    }
+
+    void freeze() {
+        Set<Parser<?, ?>> visited = Collections.newSetFromMap(new IdentityHashMap<Parser<?, ?>, Boolean>());
+        Parser<T, ? extends U> target = get();
+        visited.add(this);
+        while (target instanceof ParserRef) {
+            if (!visited.add(target)) {
+                throw new IllegalStateException("cyclic reference " + this);
+            }
+            target = ((ParserRef<T, ? extends U>) target).get();
+        }
+        this.target = target;
+    }
+
+    private Parser<T, ? extends U> target() {
+        Parser<T, ? extends U> target = this.target;
+        if (target == null) {
+            target = get();
+            this.target = target;
+        }
+        return target;
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.run(target(), sequence);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.call(target(), sequence);
+    }
+
+    @Override
+    Production production() {
+        return isSet() ? Production.wrapper(get()) : Production.opaque();
+    }
+}
@@ -24,6 +24,7 @@
 
 package com.github.jparse;
 
+import java.util.Iterator;
 import java.util.List;
 
 public final class Parsers {
@@ -47,10 +48,46 @@ public final class Parsers {
         return new ErrorParser<>(message);
     }
 
+    public static <T, U> ParserRef<T, U> ref() {
+        return new ParserRef<>();
+    }
+
+    public static <T, U> ParserRef<T, U> lazy(Supplier<? extends Parser<T, ? extends U>> supplier) {
+        return new ParserRef<>(supplier);
+    }
+
     public static <T, U, V> FluentParser<T, Pair<U, V>> then(Parser<T, U> parser1, Parser<T, V> parser2) {
         return new ThenParser<>(parser1, parser2);
     }
 
+    public static <T, U, V, R> FluentParser<T, R> seq(Parser<T, U> parser1, Parser<T, V> parser2,
+            Function2<? super U, ? super V, ? extends R> function) {
+        return new Seq2Parser<>(parser1, parser2, function);
+    }
+
+    public static <T, U, V, W, R> FluentParser<T, R> seq(Parser<T, U> parser1, Parser<T, V> parser2,
+            Parser<T, W> parser3, Function3<? super U, ? super V, ? super W, ? extends R> function) {
+        return new Seq3Parser<>(parser1, parser2, parser3, function);
+    }
+
+    public static <T, U, V, W, X, R> FluentParser<T, R> seq(Parser<T, U> parser1, Parser<T, V> parser2,
+            Parser<T, W> parser3, Parser<T, X> parser4,
+            Function4<? super U, ? super V, ? super W, ? super X, ? extends R> function) {
+        return new Seq4Parser<>(parser1, parser2, parser3, parser4, function);
+    }
+
+    public static <T, U, V, W, X, Y, R> FluentParser<T, R> seq(Parser<T, U> parser1, Parser<T, V> parser2,
+            Parser<T, W> parser3, Parser<T, X> parser4, Parser<T, Y> parser5,
+            Function5<? super U, ? super V, ? super W, ? super X, ? super Y, ? extends R> function) {
+        return new Seq5Parser<>(parser1, parser2, parser3, parser4, parser5, function);
+    }
+
+    public static <T, U, V, W, X, Y, Z, R> FluentParser<T, R> seq(Parser<T, U> parser1, Parser<T, V> parser2,
+            Parser<T, W> parser3, Parser<T, X> parser4, Parser<T, Y> parser5, Parser<T, Z> parser6,
+            Function6<? super U, ? super V, ? super W, ? super X, ? super Y, ? super Z, ? extends R> function) {
+        return new Seq6Parser<>(parser1, parser2, parser3, parser4, parser5, parser6, function);
+    }
+
     public static <T, U> FluentParser<T, U> thenLeft(Parser<T, U> parser1, Parser<T, ?> parser2) {
         return new ThenLeftParser<>(parser1, parser2);
     }
@@ -63,6 +100,46 @@ public final class Parsers {
         return new OrelseParser<>(parser1, parser2);
     }
 
+    public static <T> FluentParser<T, Void> and(Parser<T, ?> parser) {
+        return new PredicateParser<>(parser, false);
+    }
+
+    public static <T> FluentParser<T, Void> not(Parser<T, ?> parser) {
+        return new PredicateParser<>(parser, true);
+    }
+
+    public static <T> FluentParser<T, Void> recognize(Parser<T, ?> parser) {
+        return new RecognizeParser<>(parser);
+    }
+
+    public static <T> FluentParser<T, Void> handle(Parser<T, ?> parser, ParseHandler handler) {
+        return new HandleParser<>(parser, handler);
+    }
+
+    public static <T, U> FluentParser<T, U> event(Parser<T, U> parser, String name) {
+        return new EventParser<>(parser, name, false);
+    }
+
+    public static <T, U> FluentParser<T, U> emit(Parser<T, U> parser, String name) {
+        return new EventParser<>(parser, name, true);
+    }
+
+    public static <T, U> FluentParser<T, U> commit(Parser<T, U> parser) {
+        return new CommitParser<>(parser);
+    }
+
+    public static <T> FluentParser<T, Arena> arena(Parser<T, ?> parser) {
+        return new ArenaParser<>(parser);
+    }
+
+    public static <T, U> FluentParser<T, U> node(Parser<T, U> parser, int kind) {
+        return new NodeParser<>(parser, kind);
+    }
+
+    public static <T, U> FluentParser<T, U> deferred(Parser<T, U> parser) {
+        return new DeferredParser<>(parser);
+    }
+
     public static <T, U> FluentParser<T, U> opt(Parser<T, U> parser) {
         return new OptParser<>(parser);
     }
@@ -83,6 +160,32 @@ public final class Parsers {
         return new RepMNParser<>(parser, m, n);
     }
 
+    public static <T, U> FluentParser<T, List<U>> sepBy(Parser<T, U> parser, Parser<T, ?> separator) {
+        return new SepByParser<>(parser, separator, 0, false);
+    }
+
+    public static <T, U> FluentParser<T, List<U>> sepBy1(Parser<T, U> parser, Parser<T, ?> separator) {
+        return new SepByParser<>(parser, separator, 1, false);
+    }
+
+    public static <T, U> FluentParser<T, List<U>> endBy(Parser<T, U> parser, Parser<T, ?> separator) {
+        return new SepByParser<>(parser, separator, 0, true);
+    }
+
+    public static <T, U> FluentParser<T, List<U>> endBy1(Parser<T, U> parser, Parser<T, ?> separator) {
+        return new SepByParser<>(parser, separator, 1, true);
+    }
+
+    public static <T, U> FluentParser<T, U> chainl1(Parser<T, U> parser,
+            Parser<T, ? extends Function2<? super U, ? super U, ? extends U>> operator) {
+        return new ChainParser<>(parser, operator, false);
+    }
+
+    public static <T, U> FluentParser<T, U> chainr1(Parser<T, U> parser,
+            Parser<T, ? extends Function2<? super U, ? super U, ? extends U>> operator) {
+        return new ChainParser<>(parser, operator, true);
+    }
+
     public static <T, U, V> FluentParser<T, V> map(Parser<T, U> parser, Function<? super U, ? extends V> function) {
         return new MapParser<>(parser, function);
     }
@@ -110,4 +213,12 @@ public final class Parsers {
     public static <T, U> FluentParser<T, U> named(Parser<T, U> parser, String name) {
         return new NamedParser<>(parser, name);
     }
+
+    public static <T, U> Iterator<U> stream(Parser<T, ? extends U> parser, Sequence<T> sequence) {
+        return new RecordIterator<>(parser, sequence);
+    }
+
+    public static <T, U> FluentParser<T, U> stackless(Parser<T, U> parser) {
+        return new StacklessParser<>(parser);
+    }
 }
@@ -27,34 +27,66 @@ package com.github.jparse;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static com.github.jparse.ParseResult.failure;
-import static com.github.jparse.ParseResult.success;
-import static com.github.jparse.Sequences.toCharSequence;
-import static java.util.Objects.requireNonNull;
-
 final class PatternParser extends CharParser<String> {
 
     private final Pattern pattern;
 
     PatternParser(Pattern pattern) {
-        this.pattern = requireNonNull(pattern);
+        super('\'' + pattern.toString() + "' expected");
+        this.pattern = pattern;
     }
 
     PatternParser(Pattern pattern, Pattern whitespacePattern) {
-        super(whitespacePattern);
-        this.pattern = requireNonNull(pattern);
+        super('\'' + pattern.toString() + "' expected", whitespacePattern);
+        this.pattern = pattern;
+    }
+
+    @Override
+    int match(CharSequence sequence, int start) {
+        Matcher matcher = pattern.matcher(sequence).region(start, sequence.length());
+        return matcher.lookingAt() ? matcher.end() : -1;
+    }
+
+    @Override
+    String value(CharSequence sequence, int start, int end) {
+        return sequence.subSequence(start, end).toString();
     }
 
     @Override
-    public ParseResult<Character, String> parse(Sequence<Character> sequence) {
-        CharSequence charSequence = toCharSequence(sequence);
-        int start = handleWhitespace(charSequence);
-        Matcher matcher = pattern.matcher(charSequence.subSequence(start, charSequence.length()));
-        if (matcher.lookingAt()) {
-            int end = start + matcher.end();
-            return success(charSequence.subSequence(start, end).toString(), sequence.subSequence(end));
-        } else {
-            return failure('\'' + pattern.toString() + "' expected", sequence.subSequence(start));
+    Production production() {
+        boolean empty = pattern.matcher("").lookingAt();
+        boolean assertions = hasAssertions(pattern);
+        return Production.terminal(empty && !assertions, empty || assertions, null);
+    }
+
+    private static boolean hasAssertions(Pattern pattern) {
+        if ((pattern.flags() & Pattern.LITERAL) != 0) {
+            return false;
+        }
+        String regex = pattern.pattern();
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                char next = regex.charAt(++i);
+                if (next == 'Q') {
+                    int end = regex.indexOf("\\E", i);
+                    if (end < 0) {
+                        return false;
+                    }
+                    i = end + 1;
+                } else if (!inClass && "bBAzZG".indexOf(next) >= 0) {
+                    return true;
+                }
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '^' || c == '$' || regex.startsWith("(?=", i) || regex.startsWith("(?!", i) ||
+                    regex.startsWith("(?<=", i) || regex.startsWith("(?<!", i)) {
+                return true;
+            }
         }
+        return false;
     }
 }
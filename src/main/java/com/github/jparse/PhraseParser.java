@@ -24,10 +24,9 @@
 
 package com.github.jparse;
 
-import static com.github.jparse.ParseResult.failure;
 import static java.util.Objects.requireNonNull;
 
-final class PhraseParser<T, U> extends FluentParser<T, U> {
+final class PhraseParser<T, U> extends CarrierParser<T, U> {
 
     private final Parser<T, ? extends U> parser;
 
@@ -36,12 +35,25 @@ final class PhraseParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        ParseResult<T, ? extends U> result = parser.parse(sequence);
-        if (!result.isSuccess() || result.getRest().length() == 0) {
-            return result;
-        } else {
-            return failure("end of sequence expected", result.getRest());
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.run(parser, sequence);
+        finish(sequence, carrier);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.wrap(this, parser, sequence);
+    }
+
+    @Override
+    void finish(Sequence<T> sequence, Carrier carrier) {
+        if (carrier.isSuccess() && carrier.getRest().length() != 0) {
+            carrier.failure("end of sequence expected", carrier.getRest());
         }
     }
+
+    @Override
+    Production production() {
+        return Production.phrase(parser);
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+final class Production {
+
+    private static final Parser<?, ?>[] NO_CHILDREN = new Parser<?, ?>[0];
+    private static final Production OPAQUE = new Production(Kind.OPAQUE, NO_CHILDREN, 0, -1);
+    private static final Production SUCCESS = new Production(true, true, true, false, Collections.emptySet(), null,
+            null);
+    private static final Production FAILURE = new Production(false, false, false, false, Collections.emptySet(), null,
+            null);
+    private static final Production ERROR = new Production(false, false, false, true, Collections.emptySet(), null,
+            null);
+
+    final Kind kind;
+    final Parser<?, ?>[] children;
+    final boolean nullable;
+    final boolean mayBeNullable;
+    final boolean infallible;
+    final boolean error;
+    final Set<Object> first;
+    final String literal;
+    final Pattern whitespacePattern;
+    final int min;
+    final int max;
+
+    private Production(Kind kind, Parser<?, ?>[] children, int min, int max) {
+        for (Parser<?, ?> child : children) {
+            requireNonNull(child);
+        }
+        this.kind = kind;
+        this.children = children;
+        nullable = false;
+        mayBeNullable = false;
+        infallible = false;
+        error = false;
+        first = null;
+        literal = null;
+        whitespacePattern = null;
+        this.min = min;
+        this.max = max;
+    }
+
+    private Production(boolean nullable, boolean mayBeNullable, boolean infallible, boolean error, Set<?> first,
+            String literal, Pattern whitespacePattern) {
+        kind = Kind.TERMINAL;
+        children = NO_CHILDREN;
+        this.nullable = nullable;
+        this.mayBeNullable = mayBeNullable;
+        this.infallible = infallible;
+        this.error = error;
+        this.first = first != null ? Collections.unmodifiableSet(new HashSet<>(first)) : null;
+        this.literal = literal;
+        this.whitespacePattern = whitespacePattern;
+        min = 0;
+        max = -1;
+    }
+
+    static Production opaque() {
+        return OPAQUE;
+    }
+
+    static Production success() {
+        return SUCCESS;
+    }
+
+    static Production failure() {
+        return FAILURE;
+    }
+
+    static Production error() {
+        return ERROR;
+    }
+
+    static Production terminal(boolean nullable, Set<?> first) {
+        return new Production(nullable, nullable, false, false, first, null, null);
+    }
+
+    static Production terminal(boolean nullable, boolean mayBeNullable, Set<?> first) {
+        return new Production(nullable, nullable || mayBeNullable, false, false, first, null, null);
+    }
+
+    static Production literal(String literal, Pattern whitespacePattern, Set<?> first) {
+        return new Production(literal.isEmpty(), literal.isEmpty(), false, false, first, literal, whitespacePattern);
+    }
+
+    static Production sequence(Parser<?, ?>... children) {
+        return new Production(Kind.SEQUENCE, children.clone(), 0, -1);
+    }
+
+    static Production choice(Parser<?, ?> parser1, Parser<?, ?> parser2) {
+        return new Production(Kind.CHOICE, new Parser<?, ?>[]{parser1, parser2}, 0, -1);
+    }
+
+    static Production optional(Parser<?, ?> parser) {
+        return new Production(Kind.OPTIONAL, new Parser<?, ?>[]{parser}, 0, -1);
+    }
+
+    static Production predicate(Parser<?, ?> parser) {
+        return new Production(Kind.PREDICATE, new Parser<?, ?>[]{parser}, 0, -1);
+    }
+
+    static Production repeat(Parser<?, ?> parser, int min, int max) {
+        return new Production(Kind.REPEAT, new Parser<?, ?>[]{parser}, min, max);
+    }
+
+    static Production wrapper(Parser<?, ?> parser) {
+        return new Production(Kind.WRAPPER, new Parser<?, ?>[]{parser}, 0, -1);
+    }
+
+    static Production escalation(Parser<?, ?> parser) {
+        return new Production(Kind.ESCALATION, new Parser<?, ?>[]{parser}, 0, -1);
+    }
+
+    static Production demotion(Parser<?, ?> parser) {
+        return new Production(Kind.DEMOTION, new Parser<?, ?>[]{parser}, 0, -1);
+    }
+
+    static Production phrase(Parser<?, ?> parser) {
+        return new Production(Kind.PHRASE, new Parser<?, ?>[]{parser}, 0, -1);
+    }
+
+    enum Kind {
+        OPAQUE, TERMINAL, SEQUENCE, CHOICE, OPTIONAL, PREDICATE, REPEAT, WRAPPER, ESCALATION, DEMOTION, PHRASE
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static com.github.jparse.StatefulSequences.stateful;
+import static java.util.Objects.requireNonNull;
+
+public final class PushParser<U> {
+
+    private static final int OPEN_LENGTH = Integer.MAX_VALUE / 2;
+
+    private final Parser<Character, U> parser;
+    private StringBuilder buffer = new StringBuilder();
+    private int start;
+    private boolean ended;
+    private Trampoline trampoline;
+    private Carrier carrier;
+
+    private PushParser(Parser<Character, U> parser) {
+        this.parser = requireNonNull(parser);
+    }
+
+    public static <U> PushParser<U> create(Parser<Character, U> parser) {
+        return new PushParser<>(parser);
+    }
+
+    public ParseResult<Character, ? extends U> feed(CharSequence chunk) {
+        if (ended) {
+            throw new IllegalStateException("input already ended");
+        }
+        buffer.append(chunk);
+        return poll();
+    }
+
+    public ParseResult<Character, ? extends U> poll() {
+        int available = buffer.length();
+        if (start == available) {
+            return null;
+        }
+        int length = ended ? available - start : OPEN_LENGTH;
+        ParseResult<Character, ? extends U> result;
+        if (ended) {
+            trampoline = null;
+            result = parser.parse(stateful(new BufferSequence(buffer, start, start + length)));
+        } else {
+            try {
+                if (trampoline == null) {
+                    trampoline = new Trampoline();
+                    carrier = new Carrier();
+                    trampoline.run(parser, stateful(new BufferSequence(buffer, start, start + length)), carrier);
+                } else {
+                    trampoline.resume(carrier);
+                }
+            } catch (NeedMoreInputException e) {
+                Parser<?, ?> pending = trampoline.pending();
+                if (!(pending instanceof FluentParser && ((FluentParser<?, ?>) pending).isResumable())) {
+                    trampoline = null;
+                }
+                return null;
+            }
+            trampoline = null;
+            result = carrier.toResult();
+        }
+        int end = start + length - result.getRest().length();
+        if (!ended && !result.isSuccess() && end == available) {
+            return null;
+        }
+        result = trim(result, end, available);
+        if (result.isSuccess()) {
+            start = end;
+            if (start > buffer.length() / 2) {
+                buffer = new StringBuilder(buffer.subSequence(start, buffer.length()));
+                start = 0;
+            }
+        }
+        return result;
+    }
+
+    public ParseResult<Character, ? extends U> end() {
+        ended = true;
+        return poll();
+    }
+
+    public int getBuffered() {
+        return buffer.length() - start;
+    }
+
+    boolean isBlank() {
+        return CharClass.whitespace().scan(buffer, start) == buffer.length();
+    }
+
+    private ParseResult<Character, ? extends U> trim(ParseResult<Character, ? extends U> result, int end,
+            int available) {
+        Sequence<Character> rest = new BufferSequence(buffer, end, available);
+        if (result.isSuccess()) {
+            return ParseResult.<Character, U>success(result.getResult(), rest);
+        } else if (result.isFailure()) {
+            return ParseResult.failure(result.getMessage(), rest);
+        }
+        return ParseResult.error(result.getMessage(), rest);
+    }
+
+    private static final class BufferSequence implements Sequence<Character>, CharSequence {
+
+        private final StringBuilder buffer;
+        private final int start;
+        private final int end;
+
+        BufferSequence(StringBuilder buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public Character at(int index) {
+            return charAt(index);
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (start + index >= buffer.length()) {
+                throw NeedMoreInputException.INSTANCE;
+            }
+            return buffer.charAt(start + index);
+        }
+
+        @Override
+        public BufferSequence subSequence(int start) {
+            return subSequence(start, end - this.start);
+        }
+
+        @Override
+        public BufferSequence subSequence(int start, int end) {
+            if (start < 0 || end > this.end - this.start || start > end) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (start == 0 && end == this.end - this.start) {
+                return this;
+            }
+            return new BufferSequence(buffer, this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            if (end > buffer.length()) {
+                throw NeedMoreInputException.INSTANCE;
+            }
+            return buffer.substring(start, end);
+        }
+    }
+}
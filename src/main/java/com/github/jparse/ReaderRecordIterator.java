@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.util.Objects.requireNonNull;
+
+final class ReaderRecordIterator<U> implements Iterator<U> {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final PushParser<U> parser;
+    private final Reader reader;
+    private final char[] chunk = new char[CHUNK_SIZE];
+    private ParseResult<Character, ? extends U> next;
+    private boolean ended;
+
+    ReaderRecordIterator(Parser<Character, U> parser, Reader reader) {
+        this.parser = PushParser.create(parser);
+        this.reader = requireNonNull(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !ended) {
+            next = parser.poll();
+            if (next == null || !next.isSuccess() && parser.isBlank()) {
+                int count;
+                try {
+                    count = reader.read(chunk);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (count < 0) {
+                    ended = true;
+                    next = parser.end();
+                } else {
+                    next = parser.feed(CharBuffer.wrap(chunk, 0, count));
+                }
+                if (next != null && !next.isSuccess() && parser.isBlank()) {
+                    next = null;
+                }
+            }
+        }
+        if (next != null && !next.isSuccess()) {
+            throw new IllegalStateException(next.getMessage());
+        }
+        return next != null;
+    }
+
+    @Override
+    public U next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        U result = next.getResult();
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
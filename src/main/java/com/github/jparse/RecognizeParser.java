@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static java.util.Objects.requireNonNull;
+
+final class RecognizeParser<T> extends CarrierParser<T, Void> {
+
+    private final Parser<T, ?> parser;
+
+    RecognizeParser(Parser<T, ?> parser) {
+        this.parser = requireNonNull(parser);
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        boolean recognize = carrier.recognize;
+        carrier.recognize = true;
+        carrier.run(parser, sequence);
+        carrier.recognize = recognize;
+        finish(sequence, carrier);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new RecognizeFrame(sequence, carrier.recognize));
+        carrier.recognize = true;
+        trampoline.call(parser, sequence);
+    }
+
+    @Override
+    void finish(Sequence<T> sequence, Carrier carrier) {
+        if (carrier.isSuccess()) {
+            carrier.setValue(null);
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
+    }
+
+    private final class RecognizeFrame extends Trampoline.Frame {
+
+        private final Sequence<T> sequence;
+        private final boolean recognize;
+
+        RecognizeFrame(Sequence<T> sequence, boolean recognize) {
+            this.sequence = sequence;
+            this.recognize = recognize;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            carrier.recognize = recognize;
+            finish(sequence, carrier);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.util.Objects.requireNonNull;
+
+final class RecordIterator<T, U> implements Iterator<U> {
+
+    private final Parser<T, ? extends U> parser;
+    private Sequence<T> sequence;
+    private ParseResult<T, ? extends U> next;
+
+    RecordIterator(Parser<T, ? extends U> parser, Sequence<T> sequence) {
+        this.parser = requireNonNull(parser);
+        this.sequence = requireNonNull(sequence);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && sequence.length() != 0) {
+            next = parser.parse(sequence);
+            if (!next.isSuccess()) {
+                if (isBlank(sequence)) {
+                    next = null;
+                    return false;
+                }
+                throw new IllegalStateException(next.getMessage());
+            }
+            if (next.getRest().length() == sequence.length()) {
+                throw new IllegalStateException("record parser consumed no input");
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public U next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        U result = next.getResult();
+        sequence = next.getRest();
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static boolean isBlank(Sequence<?> sequence) {
+        CharClass whitespace = CharClass.whitespace();
+        for (int i = 0; i < sequence.length(); i++) {
+            Object element = sequence.at(i);
+            if (!(element instanceof Character) || !whitespace.contains((Character) element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
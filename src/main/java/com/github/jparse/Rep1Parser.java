@@ -28,10 +28,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import static com.github.jparse.ParseResult.success;
 import static java.util.Objects.requireNonNull;
 
-final class Rep1Parser<T, U> extends FluentParser<T, List<U>> {
+final class Rep1Parser<T, U> extends CarrierParser<T, List<U>> {
 
     private final Parser<T, ? extends U> parser;
 
@@ -39,26 +38,76 @@ final class Rep1Parser<T, U> extends FluentParser<T, List<U>> {
         this.parser = requireNonNull(parser);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public ParseResult<T, List<U>> parse(Sequence<T> sequence) {
-        ParseResult<T, ? extends U> result = parser.parse(sequence);
-        if (!result.isSuccess()) {
-            return (ParseResult<T, List<U>>) result;
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.run(parser, sequence);
+        if (!carrier.isSuccess()) {
+            return;
         }
-        List<U> list = new ArrayList<>();
-        list.add(result.getResult());
-        Sequence<T> rest = result.getRest();
+        List<U> list = carrier.recognize ? null : new ArrayList<U>();
         while (true) {
-            result = parser.parse(rest);
-            if (result.isFailure()) {
-                return success(Collections.unmodifiableList(list), rest);
+            if (list != null) {
+                list.add(carrier.<U>getValue());
             }
-            if (result.isError()) {
-                return (ParseResult<T, List<U>>) result;
+            Sequence<T> rest = carrier.getRest();
+            if (!BudgetMeter.step(rest, carrier)) {
+                return;
             }
-            list.add(result.getResult());
-            rest = result.getRest();
+            Object snapshot = ParseContext.snapshot(rest);
+            carrier.run(parser, rest);
+            if (carrier.isFailure()) {
+                ParseContext.restore(rest, snapshot);
+                carrier.success(list != null ? Collections.unmodifiableList(list) : null, rest);
+                return;
+            }
+            if (carrier.isError()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new Rep1Frame());
+        trampoline.call(parser, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.repeat(parser, 1, -1);
+    }
+
+    private final class Rep1Frame extends Trampoline.Frame {
+
+        private List<U> list;
+        private Sequence<T> rest;
+        private Object snapshot;
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (carrier.isFailure() && rest != null) {
+                trampoline.pop();
+                ParseContext.restore(rest, snapshot);
+                carrier.success(list != null ? Collections.unmodifiableList(list) : null, rest);
+                return;
+            }
+            if (!carrier.isSuccess()) {
+                trampoline.pop();
+                return;
+            }
+            if (!carrier.recognize) {
+                if (list == null) {
+                    list = new ArrayList<>();
+                }
+                list.add(carrier.<U>getValue());
+            }
+            rest = carrier.getRest();
+            if (!BudgetMeter.step(rest, carrier)) {
+                trampoline.pop();
+                return;
+            }
+            snapshot = ParseContext.snapshot(rest);
+            trampoline.call(parser, rest);
         }
     }
 }
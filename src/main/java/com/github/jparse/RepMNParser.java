@@ -28,10 +28,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import static com.github.jparse.ParseResult.success;
 import static java.util.Objects.requireNonNull;
 
-final class RepMNParser<T, U> extends FluentParser<T, List<U>> {
+final class RepMNParser<T, U> extends CarrierParser<T, List<U>> {
 
     private final Parser<T, ? extends U> parser;
     private final int m;
@@ -58,59 +57,115 @@ final class RepMNParser<T, U> extends FluentParser<T, List<U>> {
         this.n = n;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public ParseResult<T, List<U>> parse(Sequence<T> sequence) {
+    void run(Sequence<T> sequence, Carrier carrier) {
         if (n == 0) {
-            return success(Collections.<U>emptyList(), sequence);
+            carrier.success(carrier.recognize ? null : Collections.emptyList(), sequence);
+            return;
         }
-        List<U> list = new ArrayList<>();
+        List<U> list = carrier.recognize ? null : new ArrayList<U>();
+        int mark = EventLog.mark(carrier);
         Sequence<T> rest = sequence;
         for (int i = 0; i < m; i++) {
-            ParseResult<T, ? extends U> result = parser.parse(rest);
-            if (!result.isSuccess()) {
-                return (ParseResult<T, List<U>>) result;
+            if (!BudgetMeter.step(rest, carrier)) {
+                return;
             }
-            list.add(result.getResult());
-            rest = result.getRest();
-        }
-        if (n == -1) {
-            return parseToInfinity(rest, list);
-        } else {
-            return parseToN(rest, list);
+            carrier.run(parser, rest);
+            if (!carrier.isSuccess()) {
+                EventLog.rollback(carrier, mark);
+                return;
+            }
+            if (list != null) {
+                list.add(carrier.<U>getValue());
+            }
+            rest = carrier.getRest();
         }
-    }
-
-    @SuppressWarnings("unchecked")
-    private ParseResult<T, List<U>> parseToInfinity(Sequence<T> sequence, List<U> list) {
-        Sequence<T> rest = sequence;
-        for (int i = m; i < n; i++) {
-            ParseResult<T, ? extends U> result = parser.parse(rest);
-            if (result.isFailure()) {
+        for (int i = m; n == -1 || i < n; i++) {
+            if (!BudgetMeter.step(rest, carrier)) {
+                return;
+            }
+            Object snapshot = ParseContext.snapshot(rest);
+            carrier.run(parser, rest);
+            if (carrier.isFailure()) {
+                ParseContext.restore(rest, snapshot);
                 break;
             }
-            if (result.isError()) {
-                return (ParseResult<T, List<U>>) result;
+            if (carrier.isError()) {
+                return;
             }
-            list.add(result.getResult());
-            rest = result.getRest();
+            if (list != null) {
+                list.add(carrier.<U>getValue());
+            }
+            rest = carrier.getRest();
         }
-        return success(Collections.unmodifiableList(list), rest);
+        carrier.success(list != null ? Collections.unmodifiableList(list) : null, rest);
     }
 
-    @SuppressWarnings("unchecked")
-    private ParseResult<T, List<U>> parseToN(Sequence<T> sequence, List<U> list) {
-        Sequence<T> rest = sequence;
-        while (true) {
-            ParseResult<T, ? extends U> result = parser.parse(rest);
-            if (result.isFailure()) {
-                return success(Collections.unmodifiableList(list), rest);
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        if (n == 0) {
+            carrier.success(carrier.recognize ? null : Collections.emptyList(), sequence);
+            return;
+        }
+        RepMNFrame frame = new RepMNFrame(sequence, carrier);
+        trampoline.push(frame);
+        frame.next(carrier, trampoline);
+    }
+
+    @Override
+    Production production() {
+        return Production.repeat(parser, m, n);
+    }
+
+    private final class RepMNFrame extends Trampoline.Frame {
+
+        private final List<U> list;
+        private final int mark;
+        private int count;
+        private Sequence<T> rest;
+        private Object snapshot;
+
+        RepMNFrame(Sequence<T> sequence, Carrier carrier) {
+            list = carrier.recognize ? null : new ArrayList<U>();
+            mark = EventLog.mark(carrier);
+            rest = sequence;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (carrier.isFailure() && count >= m) {
+                trampoline.pop();
+                ParseContext.restore(rest, snapshot);
+                carrier.success(result(), rest);
+                return;
             }
-            if (result.isError()) {
-                return (ParseResult<T, List<U>>) result;
+            if (!carrier.isSuccess()) {
+                trampoline.pop();
+                EventLog.rollback(carrier, mark);
+                return;
             }
-            list.add(result.getResult());
-            rest = result.getRest();
+            if (list != null) {
+                list.add(carrier.<U>getValue());
+            }
+            count++;
+            rest = carrier.getRest();
+            next(carrier, trampoline);
+        }
+
+        void next(Carrier carrier, Trampoline trampoline) {
+            if (n != -1 && count == n) {
+                trampoline.pop();
+                carrier.success(result(), rest);
+            } else if (!BudgetMeter.step(rest, carrier)) {
+                trampoline.pop();
+            } else {
+                snapshot = ParseContext.snapshot(rest);
+                trampoline.call(parser, rest);
+            }
+        }
+
+        private List<U> result() {
+            return list != null ? Collections.unmodifiableList(list) : null;
         }
     }
 }
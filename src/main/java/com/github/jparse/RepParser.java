@@ -28,10 +28,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import static com.github.jparse.ParseResult.success;
 import static java.util.Objects.requireNonNull;
 
-final class RepParser<T, U> extends FluentParser<T, List<U>> {
+final class RepParser<T, U> extends CarrierParser<T, List<U>> {
 
     private final Parser<T, ? extends U> parser;
 
@@ -39,29 +38,88 @@ final class RepParser<T, U> extends FluentParser<T, List<U>> {
         this.parser = requireNonNull(parser);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public ParseResult<T, List<U>> parse(Sequence<T> sequence) {
-        ParseResult<T, ? extends U> result = parser.parse(sequence);
-        if (result.isFailure()) {
-            return success(Collections.<U>emptyList(), sequence);
+    void run(Sequence<T> sequence, Carrier carrier) {
+        Object snapshot = ParseContext.snapshot(sequence);
+        carrier.run(parser, sequence);
+        if (carrier.isFailure()) {
+            ParseContext.restore(sequence, snapshot);
+            carrier.success(carrier.recognize ? null : Collections.emptyList(), sequence);
+            return;
         }
-        if (result.isError()) {
-            return (ParseResult<T, List<U>>) result;
+        if (carrier.isError()) {
+            return;
         }
-        List<U> list = new ArrayList<>();
-        list.add(result.getResult());
-        Sequence<T> rest = sequence;
+        List<U> list = carrier.recognize ? null : new ArrayList<U>();
         while (true) {
-            result = parser.parse(rest);
-            if (result.isFailure()) {
-                return success(Collections.unmodifiableList(list), rest);
+            if (list != null) {
+                list.add(carrier.<U>getValue());
             }
-            if (result.isError()) {
-                return (ParseResult<T, List<U>>) result;
+            Sequence<T> rest = carrier.getRest();
+            if (!BudgetMeter.step(rest, carrier)) {
+                return;
             }
-            list.add(result.getResult());
-            rest = result.getRest();
+            snapshot = ParseContext.snapshot(rest);
+            carrier.run(parser, rest);
+            if (carrier.isFailure()) {
+                ParseContext.restore(rest, snapshot);
+                carrier.success(list != null ? Collections.unmodifiableList(list) : null, rest);
+                return;
+            }
+            if (carrier.isError()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new RepFrame(sequence));
+        trampoline.call(parser, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.repeat(parser, 0, -1);
+    }
+
+    private final class RepFrame extends Trampoline.Frame {
+
+        private List<U> list;
+        private Sequence<T> rest;
+        private Object snapshot;
+
+        RepFrame(Sequence<T> sequence) {
+            rest = sequence;
+            snapshot = ParseContext.snapshot(sequence);
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (carrier.isFailure()) {
+                trampoline.pop();
+                ParseContext.restore(rest, snapshot);
+                carrier.success(carrier.recognize ? null : list == null ? Collections.emptyList() :
+                        Collections.unmodifiableList(list), rest);
+                return;
+            }
+            if (carrier.isError()) {
+                trampoline.pop();
+                return;
+            }
+            if (!carrier.recognize) {
+                if (list == null) {
+                    list = new ArrayList<>();
+                }
+                list.add(carrier.<U>getValue());
+            }
+            rest = carrier.getRest();
+            if (!BudgetMeter.step(rest, carrier)) {
+                trampoline.pop();
+                return;
+            }
+            snapshot = ParseContext.snapshot(rest);
+            trampoline.call(parser, rest);
         }
     }
 }
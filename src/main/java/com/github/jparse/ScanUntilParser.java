@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.regex.Pattern;
+
+final class ScanUntilParser extends CharParser<String> {
+
+    private final String delimiter;
+
+    ScanUntilParser(String delimiter) {
+        this(delimiter, null);
+    }
+
+    ScanUntilParser(String delimiter, Pattern whitespacePattern) {
+        super('\'' + delimiter + "' expected", whitespacePattern);
+        this.delimiter = checkDelimiter(delimiter);
+    }
+
+    private static String checkDelimiter(String delimiter) {
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("empty delimiter");
+        }
+        return delimiter;
+    }
+
+    @Override
+    int match(CharSequence sequence, int start) {
+        return Sequences.indexOf(sequence, delimiter, start);
+    }
+
+    @Override
+    String value(CharSequence sequence, int start, int end) {
+        return sequence.subSequence(start, end).toString();
+    }
+
+    @Override
+    Production production() {
+        return Production.terminal(true, null);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+final class SepByParser<T, U> extends CarrierParser<T, List<U>> {
+
+    private final Parser<T, ? extends U> parser;
+    private final Parser<T, ?> separator;
+    private final int min;
+    private final boolean terminated;
+    private final Production production;
+
+    SepByParser(Parser<T, ? extends U> parser, Parser<T, ?> separator, int min, boolean terminated) {
+        this.parser = requireNonNull(parser);
+        this.separator = requireNonNull(separator);
+        this.min = min;
+        this.terminated = terminated;
+        production = production(parser, separator, min, terminated);
+    }
+
+    private static <T, U> Production production(Parser<T, ? extends U> parser, Parser<T, ?> separator, int min,
+            boolean terminated) {
+        if (terminated) {
+            FluentParser<T, ? extends U> element = Parsers.thenLeft(parser, separator);
+            return Production.wrapper(min == 0 ? Parsers.rep(element) : Parsers.rep1(element));
+        }
+        FluentParser<T, ?> list = Parsers.then(parser, Parsers.rep(Parsers.thenRight(separator, parser)));
+        return Production.wrapper(min == 0 ? Parsers.opt(list) : list);
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        SepByFrame frame = new SepByFrame(sequence, carrier);
+        carrier.run(parser, sequence);
+        while (frame.advance(carrier)) {
+            carrier.run(frame.next, frame.position);
+        }
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new SepByFrame(sequence, carrier));
+        trampoline.call(parser, sequence);
+    }
+
+    @Override
+    Production production() {
+        return production;
+    }
+
+    private final class SepByFrame extends Trampoline.Frame {
+
+        private final List<U> list;
+        private int count;
+        private int mark;
+        private Object snapshot;
+        private Sequence<T> rest;
+        private U pending;
+        private boolean atSeparator;
+        Parser<T, ?> next;
+        Sequence<T> position;
+
+        SepByFrame(Sequence<T> sequence, Carrier carrier) {
+            list = carrier.recognize ? null : new ArrayList<U>();
+            mark = EventLog.mark(carrier);
+            snapshot = ParseContext.snapshot(sequence);
+            rest = sequence;
+        }
+
+        boolean advance(Carrier carrier) {
+            if (carrier.isFailure()) {
+                EventLog.rollback(carrier, mark);
+                ParseContext.restore(rest, snapshot);
+                if (count >= min && carrier.isFailure()) {
+                    carrier.success(list != null ? Collections.unmodifiableList(list) : null, rest);
+                }
+                return false;
+            }
+            if (carrier.isError()) {
+                return false;
+            }
+            if (atSeparator) {
+                if (terminated) {
+                    add(pending);
+                    pending = null;
+                    rest = carrier.getRest();
+                    mark = EventLog.mark(carrier);
+                    snapshot = ParseContext.snapshot(rest);
+                    if (!BudgetMeter.step(rest, carrier)) {
+                        return false;
+                    }
+                }
+                atSeparator = false;
+                next = parser;
+            } else {
+                if (terminated) {
+                    pending = carrier.getValue();
+                } else {
+                    add(carrier.<U>getValue());
+                    rest = carrier.getRest();
+                    mark = EventLog.mark(carrier);
+                    snapshot = ParseContext.snapshot(rest);
+                    if (!BudgetMeter.step(rest, carrier)) {
+                        return false;
+                    }
+                }
+                atSeparator = true;
+                next = separator;
+            }
+            position = carrier.getRest();
+            return true;
+        }
+
+        private void add(U value) {
+            if (list != null) {
+                list.add(value);
+            }
+            count++;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (advance(carrier)) {
+                trampoline.call(next, position);
+            } else {
+                trampoline.pop();
+            }
+        }
+    }
+}
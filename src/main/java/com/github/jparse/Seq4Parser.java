@@ -0,0 +1,45 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static java.util.Objects.requireNonNull;
+
+final class Seq4Parser<T, U, V, W, X, R> extends SeqParser<T, R> {
+
+    private final Function4<? super U, ? super V, ? super W, ? super X, ? extends R> function;
+
+    Seq4Parser(Parser<T, ? extends U> parser1, Parser<T, ? extends V> parser2, Parser<T, ? extends W> parser3,
+            Parser<T, ? extends X> parser4,
+            Function4<? super U, ? super V, ? super W, ? super X, ? extends R> function) {
+        super(parser1, parser2, parser3, parser4);
+        this.function = requireNonNull(function);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    R apply(Object result1, Object result2, Object result3, Object result4, Object result5, Object result6) {
+        return function.apply((U) result1, (V) result2, (W) result3, (X) result4);
+    }
+}
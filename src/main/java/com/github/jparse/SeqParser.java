@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static java.util.Objects.requireNonNull;
+
+abstract class SeqParser<T, V> extends CarrierParser<T, V> {
+
+    private final Parser<?, ?>[] parsers;
+
+    SeqParser(Parser<?, ?>... parsers) {
+        this.parsers = parsers.clone();
+        for (Parser<?, ?> parser : this.parsers) {
+            requireNonNull(parser);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Parser<T, ?> parser(int index) {
+        return (Parser<T, ?>) parsers[index];
+    }
+
+    @Override
+    void run(Sequence<T> sequence, Carrier carrier) {
+        Object result1 = null;
+        Object result2 = null;
+        Object result3 = null;
+        Object result4 = null;
+        Object result5 = null;
+        Object result6 = null;
+        int mark = EventLog.mark(carrier);
+        Sequence<T> rest = sequence;
+        for (int i = 0; i < parsers.length; i++) {
+            carrier.run(parser(i), rest);
+            if (!carrier.isSuccess()) {
+                EventLog.rollback(carrier, mark);
+                return;
+            }
+            switch (i) {
+                case 0:
+                    result1 = carrier.getValue();
+                    break;
+                case 1:
+                    result2 = carrier.getValue();
+                    break;
+                case 2:
+                    result3 = carrier.getValue();
+                    break;
+                case 3:
+                    result4 = carrier.getValue();
+                    break;
+                case 4:
+                    result5 = carrier.getValue();
+                    break;
+                default:
+                    result6 = carrier.getValue();
+                    break;
+            }
+            rest = carrier.getRest();
+        }
+        if (!carrier.recognize) {
+            carrier.setValue(result(carrier, result1, result2, result3, result4, result5, result6));
+        }
+    }
+
+    private Object result(Carrier carrier, final Object result1, final Object result2, final Object result3,
+            final Object result4, final Object result5, final Object result6) {
+        if (!carrier.defer) {
+            return apply(result1, result2, result3, result4, result5, result6);
+        }
+        return new Deferred() {
+            @Override
+            Object compute() {
+                return apply(Deferred.force(result1), Deferred.force(result2), Deferred.force(result3),
+                        Deferred.force(result4), Deferred.force(result5), Deferred.force(result6));
+            }
+        };
+    }
+
+    abstract V apply(Object result1, Object result2, Object result3, Object result4, Object result5,
+            Object result6);
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new SeqFrame(EventLog.mark(carrier)));
+        trampoline.call(parser(0), sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.sequence(parsers);
+    }
+
+    private final class SeqFrame extends Trampoline.Frame {
+
+        private final Object[] results = new Object[6];
+        private final int mark;
+        private int index;
+
+        SeqFrame(int mark) {
+            this.mark = mark;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (!carrier.isSuccess()) {
+                trampoline.pop();
+                EventLog.rollback(carrier, mark);
+                return;
+            }
+            results[index++] = carrier.getValue();
+            if (index < parsers.length) {
+                trampoline.call(parser(index), carrier.<T>getRest());
+                return;
+            }
+            trampoline.pop();
+            if (!carrier.recognize) {
+                carrier.setValue(result(carrier, results[0], results[1], results[2], results[3], results[4],
+                        results[5]));
+            }
+        }
+    }
+}
@@ -43,11 +43,48 @@ public final class Sequences {
     public static CharSequence toCharSequence(Sequence<Character> sequence) {
         if (sequence instanceof CharSequence) {
             return (CharSequence) sequence;
+        } else if (sequence instanceof StatefulSequence) {
+            return toCharSequence(((StatefulSequence<Character>) sequence).unwrap());
         } else {
             return new CharSequenceAdapter(sequence);
         }
     }
 
+    static int indexOf(CharSequence sequence, String target, int fromIndex) {
+        if (sequence instanceof SequenceAdapter) {
+            SequenceAdapter adapter = (SequenceAdapter) sequence;
+            int index = indexOf(adapter.sequence, target, adapter.index + fromIndex, adapter.index + adapter.length);
+            return index < 0 ? -1 : index - adapter.index;
+        }
+        return indexOf(sequence, target, fromIndex, sequence.length());
+    }
+
+    private static int indexOf(CharSequence sequence, String target, int fromIndex, int toIndex) {
+        if (toIndex == sequence.length()) {
+            if (sequence instanceof String) {
+                String string = (String) sequence;
+                return target.length() == 1 ? string.indexOf(target.charAt(0), fromIndex) : string.indexOf(target,
+                        fromIndex);
+            } else if (sequence instanceof StringBuilder) {
+                return ((StringBuilder) sequence).indexOf(target, fromIndex);
+            }
+        }
+        char first = target.charAt(0);
+        int max = toIndex - target.length();
+        for (int i = fromIndex; i <= max; i++) {
+            if (sequence.charAt(i) == first) {
+                int j = 1;
+                while (j < target.length() && sequence.charAt(i + j) == target.charAt(j)) {
+                    j++;
+                }
+                if (j == target.length()) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
     private static final class SequenceAdapter implements Sequence<Character>, CharSequence {
 
         private final CharSequence sequence;
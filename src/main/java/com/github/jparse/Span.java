@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+public final class Span implements CharSequence {
+
+    private final CharSequence sequence;
+    private final int start;
+    private final int end;
+    private String string;
+
+    Span(CharSequence sequence, int start, int end) {
+        this.sequence = sequence;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException();
+        }
+        return sequence.charAt(start + index);
+    }
+
+    @Override
+    public Span subSequence(int start, int end) {
+        if (start < 0 || end > this.end - this.start || start > end) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new Span(sequence, this.start + start, this.start + end);
+    }
+
+    public boolean contentEquals(CharSequence sequence) {
+        int length = end - start;
+        if (sequence.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.sequence.charAt(start + i) != sequence.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || obj instanceof Span && contentEquals((Span) obj);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            result = 31 * result + sequence.charAt(i);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (string == null) {
+            string = sequence.subSequence(start, end).toString();
+        }
+        return string;
+    }
+}
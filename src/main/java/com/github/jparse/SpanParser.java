@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import static com.github.jparse.Sequences.toCharSequence;
+import static java.util.Objects.requireNonNull;
+
+final class SpanParser extends CarrierParser<Character, Span> {
+
+    private final CharParser<?> parser;
+
+    SpanParser(CharParser<?> parser) {
+        this.parser = requireNonNull(parser);
+    }
+
+    @Override
+    void run(Sequence<Character> sequence, Carrier carrier) {
+        CharSequence charSequence = toCharSequence(sequence);
+        int start = parser.handleWhitespace(charSequence);
+        int end = parser.match(charSequence, start);
+        if (end < 0) {
+            carrier.failure(parser.message, sequence.subSequence(start));
+        } else {
+            carrier.success(carrier.recognize ? null : new Span(charSequence, start, end), sequence.subSequence(end));
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
+    }
+
+    @Override
+    boolean isResumable() {
+        return true;
+    }
+}
@@ -28,8 +28,28 @@ import java.util.Map;
 
 public class State<T> {
 
+    private final boolean transactional;
+
+    public State() {
+        this(false);
+    }
+
+    State(boolean transactional) {
+        this.transactional = transactional;
+    }
+
     @SuppressWarnings("unchecked")
     public final <U> T get(Sequence<U> sequence) {
+        if (transactional) {
+            ParseContext context = ((StatefulSequence<U>) sequence).context;
+            int index = context.find(this);
+            if (index >= 0) {
+                return (T) context.bindings[index + 1];
+            }
+            T value = initialValue();
+            context.bind(this, value);
+            return value;
+        }
         Map<Object, Object> states = ((StatefulSequence<U>) sequence).states;
         if (states.containsKey(this)) {
             return (T) states.get(this);
@@ -41,14 +61,26 @@ public class State<T> {
     }
 
     public final <U> void set(Sequence<U> sequence, T value) {
-        ((StatefulSequence<U>) sequence).states.put(this, value);
+        if (transactional) {
+            ((StatefulSequence<U>) sequence).context.bind(this, value);
+        } else {
+            ((StatefulSequence<U>) sequence).states.put(this, value);
+        }
     }
 
     public final <U> void remove(Sequence<U> sequence) {
-        ((StatefulSequence<U>) sequence).states.remove(this);
+        if (transactional) {
+            ((StatefulSequence<U>) sequence).context.unbind(this);
+        } else {
+            ((StatefulSequence<U>) sequence).states.remove(this);
+        }
     }
 
     protected T initialValue() {
         return null;
     }
+
+    protected T reset(T value) {
+        return null;
+    }
 }
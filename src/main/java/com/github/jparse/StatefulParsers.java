@@ -33,6 +33,10 @@ public final class StatefulParsers {
         return new MemoParser<>(parser);
     }
 
+    public static <T, U> FluentParser<T, U> packrat(Parser<T, U> parser) {
+        return new PackratParser<>(parser);
+    }
+
     public static <T, U> FluentParser<T, U> log(Parser<T, U> parser) {
         return new LogParser<>(parser);
     }
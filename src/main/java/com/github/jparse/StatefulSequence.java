@@ -24,7 +24,6 @@
 
 package com.github.jparse;
 
-import java.util.IdentityHashMap;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
@@ -32,15 +31,32 @@ import static java.util.Objects.requireNonNull;
 final class StatefulSequence<T> implements Sequence<T> {
 
     private final Sequence<T> sequence;
+    final ParseContext context;
     final Map<Object, Object> states;
+    final int offset;
 
     StatefulSequence(Sequence<T> sequence) {
-        this(requireNonNull(sequence), new IdentityHashMap<>());
+        this(requireNonNull(sequence), new ParseContext(), 0);
     }
 
-    private StatefulSequence(Sequence<T> sequence, Map<Object, Object> states) {
+    StatefulSequence(Sequence<T> sequence, ParseContext context) {
+        this(requireNonNull(sequence), context, 0);
+    }
+
+    private StatefulSequence(Sequence<T> sequence, ParseContext context, int offset) {
         this.sequence = sequence;
-        this.states = states;
+        this.context = context;
+        states = context.states;
+        this.offset = offset;
+    }
+
+    Sequence<T> unwrap() {
+        return sequence;
+    }
+
+    static long position(Sequence<?> sequence) {
+        StatefulSequence<?> statefulSequence = (StatefulSequence<?>) sequence;
+        return (long) statefulSequence.offset << 32 | statefulSequence.length();
     }
 
     @Override
@@ -58,7 +74,7 @@ final class StatefulSequence<T> implements Sequence<T> {
         if (start == 0) {
             return this;
         }
-        return new StatefulSequence<>(sequence.subSequence(start), states);
+        return new StatefulSequence<>(sequence.subSequence(start), context, offset + start);
     }
 
     @Override
@@ -66,7 +82,7 @@ final class StatefulSequence<T> implements Sequence<T> {
         if (start == 0 && end == sequence.length()) {
             return this;
         }
-        return new StatefulSequence<>(sequence.subSequence(start, end), states);
+        return new StatefulSequence<>(sequence.subSequence(start, end), context, offset + start);
     }
 
     @Override
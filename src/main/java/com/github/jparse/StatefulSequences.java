@@ -24,6 +24,8 @@
 
 package com.github.jparse;
 
+import static java.util.Objects.requireNonNull;
+
 public final class StatefulSequences {
 
     private StatefulSequences() {
@@ -37,4 +39,28 @@ public final class StatefulSequences {
             return new StatefulSequence<>(sequence);
         }
     }
+
+    public static <T> Sequence<T> stateful(Sequence<T> sequence, MemoPolicy policy) {
+        Sequence<T> statefulSequence = stateful(sequence);
+        MemoTable.STATE.set(statefulSequence, new MemoTable(requireNonNull(policy)));
+        return statefulSequence;
+    }
+
+    public static <T> Sequence<T> stateful(Sequence<T> sequence, ParseBudget budget) {
+        Sequence<T> statefulSequence = stateful(sequence);
+        ((StatefulSequence<T>) statefulSequence).context.meter = new BudgetMeter(requireNonNull(budget));
+        return statefulSequence;
+    }
+
+    public static BudgetUsage budgetUsage(Sequence<?> sequence) {
+        BudgetMeter meter = BudgetMeter.get(sequence);
+        if (meter == null) {
+            throw new IllegalArgumentException("no parse budget");
+        }
+        return meter.usage();
+    }
+
+    public static MemoStats memoStats(Sequence<?> sequence) {
+        return MemoTable.get(sequence).stats();
+    }
 }
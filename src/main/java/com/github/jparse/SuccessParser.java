@@ -24,9 +24,7 @@
 
 package com.github.jparse;
 
-import static com.github.jparse.ParseResult.success;
-
-final class SuccessParser<T, U> extends FluentParser<T, U> {
+final class SuccessParser<T, U> extends CarrierParser<T, U> {
 
     private final U result;
 
@@ -35,7 +33,12 @@ final class SuccessParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, U> parse(Sequence<T> sequence) {
-        return success(result, sequence);
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.success(result, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.success();
     }
 }
@@ -24,10 +24,9 @@
 
 package com.github.jparse;
 
-import static com.github.jparse.ParseResult.success;
 import static java.util.Objects.requireNonNull;
 
-final class ThenLeftParser<T, U> extends FluentParser<T, U> {
+final class ThenLeftParser<T, U> extends CarrierParser<T, U> {
 
     private final Parser<T, ? extends U> parser1;
     private final Parser<T, ?> parser2;
@@ -37,18 +36,59 @@ final class ThenLeftParser<T, U> extends FluentParser<T, U> {
         this.parser2 = requireNonNull(parser2);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        ParseResult<T, ? extends U> result1 = parser1.parse(sequence);
-        if (!result1.isSuccess()) {
-            return result1;
+    void run(Sequence<T> sequence, Carrier carrier) {
+        int mark = EventLog.mark(carrier);
+        carrier.run(parser1, sequence);
+        if (!carrier.isSuccess()) {
+            return;
         }
-        ParseResult<T, ?> result2 = parser2.parse(result1.getRest());
-        if (result2.isSuccess()) {
-            return success(result1.getResult(), result2.getRest());
+        U result1 = carrier.getValue();
+        carrier.run(parser2, carrier.<T>getRest());
+        finish(carrier, mark, result1);
+    }
+
+    private void finish(Carrier carrier, int mark, U result1) {
+        if (carrier.isSuccess()) {
+            carrier.setValue(result1);
         } else {
-            return (ParseResult<T, ? extends U>) result2;
+            EventLog.rollback(carrier, mark);
+        }
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(new ThenLeftFrame(EventLog.mark(carrier)));
+        trampoline.call(parser1, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.sequence(parser1, parser2);
+    }
+
+    private final class ThenLeftFrame extends Trampoline.Frame {
+
+        private final int mark;
+        private boolean second;
+        private U result1;
+
+        ThenLeftFrame(int mark) {
+            this.mark = mark;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (second) {
+                trampoline.pop();
+                finish(carrier, mark, result1);
+            } else if (carrier.isSuccess()) {
+                second = true;
+                result1 = carrier.getValue();
+                trampoline.call(parser2, carrier.<T>getRest());
+            } else {
+                trampoline.pop();
+            }
         }
     }
 }
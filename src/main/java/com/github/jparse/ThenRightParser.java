@@ -26,7 +26,7 @@ package com.github.jparse;
 
 import static java.util.Objects.requireNonNull;
 
-final class ThenRightParser<T, U> extends FluentParser<T, U> {
+final class ThenRightParser<T, U> extends CarrierParser<T, U> {
 
     private final Parser<T, ?> parser1;
     private final Parser<T, ? extends U> parser2;
@@ -36,14 +36,63 @@ final class ThenRightParser<T, U> extends FluentParser<T, U> {
         this.parser2 = requireNonNull(parser2);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        ParseResult<T, ?> result1 = parser1.parse(sequence);
-        if (result1.isSuccess()) {
-            return parser2.parse(result1.getRest());
-        } else {
-            return (ParseResult<T, ? extends U>) result1;
+    void run(Sequence<T> sequence, Carrier carrier) {
+        int mark = EventLog.mark(carrier);
+        carrier.run(parser1, sequence);
+        if (!carrier.isSuccess()) {
+            return;
+        }
+        carrier.run(parser2, carrier.<T>getRest());
+        if (!carrier.isSuccess()) {
+            EventLog.rollback(carrier, mark);
+        }
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.push(carrier.events != null ? new EventFrame(carrier.events.mark()) : new ThenRightFrame());
+        trampoline.call(parser1, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.sequence(parser1, parser2);
+    }
+
+    private final class ThenRightFrame extends Trampoline.Frame {
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            if (carrier.isSuccess()) {
+                trampoline.call(parser2, carrier.<T>getRest());
+            }
+        }
+    }
+
+    private final class EventFrame extends Trampoline.Frame {
+
+        private final int mark;
+        private boolean second;
+
+        EventFrame(int mark) {
+            this.mark = mark;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            if (second) {
+                trampoline.pop();
+                if (!carrier.isSuccess()) {
+                    EventLog.rollback(carrier, mark);
+                }
+            } else if (carrier.isSuccess()) {
+                second = true;
+                trampoline.call(parser2, carrier.<T>getRest());
+            } else {
+                trampoline.pop();
+            }
         }
     }
 }
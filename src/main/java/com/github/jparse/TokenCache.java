@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class TokenCache implements Function<CharSequence, String> {
+
+    private static final int MAX_LENGTH = 64;
+    private final String[] strings;
+    private final int mask;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TokenCache(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException();
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        strings = new String[size];
+        mask = size - 2;
+    }
+
+    @Override
+    public String apply(CharSequence arg) {
+        return intern(arg, 0, arg.length());
+    }
+
+    public String intern(CharSequence sequence) {
+        return intern(sequence, 0, sequence.length());
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long hits = this.hits.get();
+        long lookups = hits + misses.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    String intern(CharSequence sequence, int start, int end) {
+        if (end - start > MAX_LENGTH) {
+            misses.incrementAndGet();
+            return sequence.subSequence(start, end).toString();
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + sequence.charAt(i);
+        }
+        int index = (hash ^ hash >>> 16) & mask;
+        String string = strings[index];
+        if (matches(string, hash, sequence, start, end)) {
+            hits.incrementAndGet();
+            return string;
+        }
+        String other = strings[index + 1];
+        if (matches(other, hash, sequence, start, end)) {
+            strings[index + 1] = string;
+            strings[index] = other;
+            hits.incrementAndGet();
+            return other;
+        }
+        misses.incrementAndGet();
+        String result = sequence.subSequence(start, end).toString();
+        strings[index + 1] = string;
+        strings[index] = result;
+        return result;
+    }
+
+    private static boolean matches(String string, int hash, CharSequence sequence, int start, int end) {
+        if (string == null || string.hashCode() != hash || string.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (string.charAt(i - start) != sequence.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenCache{capacity=" + strings.length + ", hits=" + hits.get() + ", misses=" + misses.get() +
+                '}';
+    }
+}
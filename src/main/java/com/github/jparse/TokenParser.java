@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Collections;
+
+final class TokenParser extends CarrierParser<Token, Token> {
+
+    private final int kind;
+    private final String message;
+
+    TokenParser(int kind) {
+        this.kind = kind;
+        message = "token " + kind + " expected";
+    }
+
+    @Override
+    void run(Sequence<Token> sequence, Carrier carrier) {
+        Sequence<Token> tokens = sequence instanceof StatefulSequence ? ((StatefulSequence<Token>) sequence).unwrap()
+                : sequence;
+        if (tokens instanceof TokenSequence) {
+            TokenSequence tokenSequence = (TokenSequence) tokens;
+            if (tokenSequence.length() != 0 && tokenSequence.kind(0) == kind) {
+                carrier.success(carrier.recognize ? null : tokenSequence.at(0), sequence.subSequence(1));
+                return;
+            }
+        } else if (tokens.length() != 0 && tokens.at(0).getKind() == kind) {
+            carrier.success(carrier.recognize ? null : tokens.at(0), sequence.subSequence(1));
+            return;
+        }
+        carrier.failure(message, sequence);
+    }
+
+    @Override
+    Production production() {
+        return Production.terminal(false, Collections.singleton(kind));
+    }
+
+    @Override
+    boolean isResumable() {
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+public final class TokenSequence implements Sequence<Token> {
+
+    private final CharSequence source;
+    private final int[] tokens;
+    private final int index;
+    private final int length;
+
+    TokenSequence(CharSequence source, int[] tokens, int index, int length) {
+        this.source = source;
+        this.tokens = tokens;
+        this.index = index;
+        this.length = length;
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public Token at(int index) {
+        return new Token(kind(index), source, start(index), end(index));
+    }
+
+    public int kind(int index) {
+        return tokens[offset(index)];
+    }
+
+    public int start(int index) {
+        return tokens[offset(index) + 1];
+    }
+
+    public int end(int index) {
+        return tokens[offset(index) + 2];
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (this.index + index) * 3;
+    }
+
+    @Override
+    public TokenSequence subSequence(int start) {
+        if (start < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (start > length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (start == 0) {
+            return this;
+        }
+        return new TokenSequence(source, tokens, index + start, length - start);
+    }
+
+    @Override
+    public TokenSequence subSequence(int start, int end) {
+        if (start < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (end > length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (start > end) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (start == 0 && end == length) {
+            return this;
+        }
+        return new TokenSequence(source, tokens, index + start, end - start);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof TokenSequence)) {
+            return false;
+        }
+        TokenSequence other = (TokenSequence) obj;
+        return tokens == other.tokens && index == other.index && length == other.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 17;
+        result = 31 * result + System.identityHashCode(tokens);
+        result = 31 * result + index;
+        result = 31 * result + length;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < length; i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            sb.append(kind(i)).append(':').append(source, start(i), end(i));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import java.util.Arrays;
+
+final class Trampoline {
+
+    private Frame[] frames = new Frame[16];
+    private int size;
+    private Parser<?, ?> next;
+    private Sequence<?> nextSequence;
+
+    <T> void run(Parser<T, ?> parser, Sequence<T> sequence, Carrier carrier) {
+        int base = size;
+        call(parser, sequence);
+        loop(base, carrier);
+    }
+
+    void resume(Carrier carrier) {
+        loop(0, carrier);
+    }
+
+    Parser<?, ?> pending() {
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loop(int base, Carrier carrier) {
+        while (true) {
+            if (next != null) {
+                Parser<Object, ?> current = (Parser<Object, ?>) next;
+                Sequence<Object> currentSequence = (Sequence<Object>) nextSequence;
+                next = null;
+                nextSequence = null;
+                try {
+                    if (current instanceof FluentParser) {
+                        ((FluentParser<Object, ?>) current).enter(currentSequence, carrier, this);
+                    } else {
+                        carrier.runOpaque(current, currentSequence);
+                    }
+                } catch (NeedMoreInputException e) {
+                    call(current, currentSequence);
+                    throw e;
+                }
+            } else if (size == base) {
+                return;
+            } else {
+                frames[size - 1].resume(carrier, this);
+            }
+        }
+    }
+
+    <T> void call(Parser<T, ?> parser, Sequence<T> sequence) {
+        next = parser;
+        nextSequence = sequence;
+    }
+
+    void push(Frame frame) {
+        if (size == frames.length) {
+            frames = Arrays.copyOf(frames, size * 2);
+        }
+        frames[size++] = frame;
+    }
+
+    void pop() {
+        frames[--size] = null;
+    }
+
+    <T> void wrap(FluentParser<T, ?> parser, Parser<T, ?> child, Sequence<T> sequence) {
+        push(new WrapFrame<>(parser, sequence));
+        call(child, sequence);
+    }
+
+    abstract static class Frame {
+
+        abstract void resume(Carrier carrier, Trampoline trampoline);
+    }
+
+    private static final class WrapFrame<T> extends Frame {
+
+        private final FluentParser<T, ?> parser;
+        private final Sequence<T> sequence;
+
+        WrapFrame(FluentParser<T, ?> parser, Sequence<T> sequence) {
+            this.parser = parser;
+            this.sequence = sequence;
+        }
+
+        @Override
+        void resume(Carrier carrier, Trampoline trampoline) {
+            trampoline.pop();
+            parser.finish(sequence, carrier);
+        }
+    }
+}
@@ -26,7 +26,7 @@ package com.github.jparse;
 
 import static java.util.Objects.requireNonNull;
 
-final class WithErrorMessageParser<T, U> extends FluentParser<T, U> {
+final class WithErrorMessageParser<T, U> extends CarrierParser<T, U> {
 
     private final Parser<T, ? extends U> parser;
     private final String message;
@@ -37,7 +37,25 @@ final class WithErrorMessageParser<T, U> extends FluentParser<T, U> {
     }
 
     @Override
-    public ParseResult<T, ? extends U> parse(Sequence<T> sequence) {
-        return parser.parse(sequence).withErrorMessage(message);
+    void run(Sequence<T> sequence, Carrier carrier) {
+        carrier.run(parser, sequence);
+        finish(sequence, carrier);
+    }
+
+    @Override
+    void enter(Sequence<T> sequence, Carrier carrier, Trampoline trampoline) {
+        trampoline.wrap(this, parser, sequence);
+    }
+
+    @Override
+    void finish(Sequence<T> sequence, Carrier carrier) {
+        if (carrier.isError()) {
+            carrier.error(message, carrier.getRest());
+        }
+    }
+
+    @Override
+    Production production() {
+        return Production.wrapper(parser);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulParsers.memo;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ArenaTest {
+
+    private static final int SUM = 1;
+    private static final int NUMBER = 2;
+    private static final int CALL = 3;
+
+    private static final FluentParser<Character, String> number = memo(pattern("\\d+").node(NUMBER));
+    private static final FluentParser<Character, List<String>> parser = number.thenLeft(literal("(")).node(CALL)
+            .orelse(number).sepBy1(literal("+")).node(SUM);
+
+    @Test
+    public void testArena() {
+        Arena arena = parser.arena().parse(stateful(fromCharSequence("1 + 23+4"))).getResult();
+        assertEquals(4, arena.size());
+        int root = arena.root();
+        assertEquals(SUM, arena.kind(root));
+        assertEquals(0, arena.start(root));
+        assertEquals(8, arena.end(root));
+        assertEquals(-1, arena.nextSibling(root));
+        int first = arena.firstChild(root);
+        assertEquals(NUMBER, arena.kind(first));
+        assertEquals(-1, arena.firstChild(first));
+        int second = arena.nextSibling(first);
+        assertEquals(" 23", "1 + 23+4".substring(arena.start(second), arena.end(second)));
+        assertEquals(-1, arena.nextSibling(arena.nextSibling(second)));
+        Arena stackless = parser.arena().stackless().parse(stateful(fromCharSequence("1 + 23+4"))).getResult();
+        assertEquals(arena.size(), stackless.size());
+    }
+
+    @Test
+    public void testCursor() {
+        Arena arena = parser.arena().parse(stateful(fromCharSequence("1 + 2(+3"))).getResult();
+        ArenaCursor cursor = arena.cursor();
+        assertEquals(SUM, cursor.kind());
+        assertTrue(cursor.firstChild());
+        assertEquals(NUMBER, cursor.kind());
+        assertTrue(cursor.nextSibling());
+        assertEquals(CALL, cursor.kind());
+        assertEquals(1, cursor.depth());
+        assertTrue(cursor.firstChild());
+        assertEquals(NUMBER, cursor.kind());
+        assertEquals(3, cursor.start());
+        assertEquals(5, cursor.end());
+        assertFalse(cursor.nextSibling());
+        assertTrue(cursor.parent());
+        assertTrue(cursor.nextSibling());
+        assertEquals(NUMBER, cursor.kind());
+        assertTrue(cursor.parent());
+        assertFalse(cursor.parent());
+        assertEquals(arena.root(), cursor.node());
+        assertTrue(parser.arena().parse(stateful(fromCharSequence("+"))).isFailure());
+    }
+
+    @Test
+    public void testForwarder() {
+        final FluentParser<Character, String> digits = pattern("\\d+").node(NUMBER);
+        FluentParser<Character, String> forwarder = new FluentParser<Character, String>() {
+            @Override
+            public ParseResult<Character, ? extends String> parse(Sequence<Character> sequence) {
+                return digits.parse(sequence);
+            }
+        };
+        FluentParser<Character, Arena> parser = forwarder.node(SUM).orelse(literal("x").node(CALL)).arena();
+        Arena arena = parser.parse(fromCharSequence("12")).getResult();
+        assertEquals(2, arena.size());
+        assertEquals(SUM, arena.kind(arena.root()));
+        assertEquals(NUMBER, arena.kind(arena.firstChild(arena.root())));
+        assertEquals(2, parser.stackless().parse(stateful(fromCharSequence("12"))).getResult().size());
+        Arena other = parser.parse(fromCharSequence("x")).getResult();
+        assertEquals(1, other.size());
+        assertEquals(CALL, other.kind(other.root()));
+        assertFalse(parser.parse(fromCharSequence("12")).getRest() instanceof StatefulSequence);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static com.github.jparse.CharParsers.charIn;
+import static com.github.jparse.CharParsers.charsWhile;
+import static com.github.jparse.CharParsers.charsWhile1;
+import static com.github.jparse.CharParsers.decimal;
+import static com.github.jparse.CharParsers.integer;
+import static com.github.jparse.CharParsers.internedPattern;
+import static com.github.jparse.CharParsers.literalSpan;
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.longValue;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.CharParsers.patternSpan;
+import static com.github.jparse.CharParsers.scanUntil;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CharParsersTest {
+
+    @Test
+    public void testSpan() {
+        ParseResult<Character, ? extends Span> result = patternSpan("[a-z]+").parse(stateful(fromCharSequence(
+                " abc1")));
+        Span span = result.getResult();
+        assertEquals(3, span.length());
+        assertEquals('b', span.charAt(1));
+        assertEquals("abc", span.toString());
+        assertEquals("abc".hashCode(), span.hashCode());
+        assertTrue(span.contentEquals("abc"));
+        assertEquals(1, result.getRest().length());
+        assertEquals("'ab' expected", literalSpan("ab").parse(fromCharSequence("ac")).getMessage());
+    }
+
+    @Test
+    public void testInternedPattern() {
+        TokenCache cache = new TokenCache(16);
+        FluentParser<Character, List<String>> parser = internedPattern("[a-z]+", cache).rep();
+        List<String> result = parser.parse(fromCharSequence("foo bar foo foo bar")).getResult();
+        assertEquals(Arrays.asList("foo", "bar", "foo", "foo", "bar"), result);
+        assertSame(result.get(0), result.get(2));
+        assertSame(result.get(1), result.get(4));
+        assertEquals(3, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testSharedTokenCache() throws InterruptedException {
+        final TokenCache cache = new TokenCache(4);
+        final String[] words = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta"};
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 10000; i++) {
+                        String word = words[(i + offset) % words.length];
+                        if (!word.equals(cache.intern(new StringBuilder(word)))) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+        assertEquals(40000, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    public void testInteger() {
+        assertEquals(Integer.valueOf(-42), integer().parse(fromCharSequence(" -42x")).getResult());
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), integer().parse(fromCharSequence("-2147483648")).getResult());
+        assertTrue(integer().parse(fromCharSequence("2147483648")).isFailure());
+        assertTrue(integer().parse(fromCharSequence("-")).isFailure());
+        assertEquals(Long.valueOf(Long.MAX_VALUE), longValue().parse(fromCharSequence("9223372036854775807"))
+                .getResult());
+        assertTrue(longValue().parse(fromCharSequence("9223372036854775808")).isFailure());
+    }
+
+    @Test
+    public void testDecimal() {
+        String[] inputs = {"0", "-0", "1.5", "-12.25e3", "3.141592653589793", "1e23", "2.2250738585072014E-308",
+                "123456789012345678901234567890", "0.1", "1E-400", "4.9e-324", "1.7976931348623157e308", "1e400",
+                "9999999999999999999", "9223372036854775808", "-9223372036854775809", "18446744073709551615.5"};
+        for (String input : inputs) {
+            ParseResult<Character, ? extends Double> result = decimal().parse(fromCharSequence(input));
+            assertEquals(input, Double.valueOf(input), result.getResult());
+            assertEquals(0, result.getRest().length());
+        }
+        ParseResult<Character, ? extends Double> result = decimal().parse(fromCharSequence("7.e"));
+        assertEquals(Double.valueOf(7), result.getResult());
+        assertEquals(2, result.getRest().length());
+    }
+
+    @Test
+    public void testCharClass() {
+        CharClass identifier = CharClass.range('a', 'z').union(CharClass.of("_\u00E9"));
+        assertTrue(identifier.contains('\u00E9'));
+        assertFalse(identifier.contains('\u00E8'));
+        assertFalse(identifier.negate().contains('_'));
+        assertTrue(identifier.negate().contains('\uFFFF'));
+        assertEquals(identifier, identifier.negate().negate());
+        assertEquals("ab_\u00E9", charsWhile(identifier).parse(fromCharSequence(" ab_\u00E9!")).getResult());
+        assertEquals("", charsWhile(identifier).parse(fromCharSequence("1")).getResult());
+        assertTrue(charsWhile1(identifier).parse(fromCharSequence("1")).isFailure());
+        assertEquals(Character.valueOf('7'), charIn(CharClass.digit()).parse(fromCharSequence("78")).getResult());
+        assertEquals("x1", charsWhile1(CharClass.range('a', 'z'), CharClass.word()).parse(fromCharSequence("x1 "))
+                .getResult());
+    }
+
+    @Test
+    public void testPatternConversion() {
+        String[] patterns = {"\\d+", "[A-Za-z_][A-Za-z0-9_]*", "[^,\\n]*", "\\s", "\\w*", "[-+]", "[a-c-]+", ".*",
+                "\\S+", "[\\d.]+", "\\.", "a*?", "[a-z&&[^b]]+", "\\d{2}", "ab", "[^a]", "\\D*", "[\\]\\-]+"};
+        String[] inputs = {"", "abc_12, x", "123.45", "\ud83d\ude00\ud83d\ude00a", "\n\t x", "-+a", "]-]", "\u00E9b"};
+        for (String regex : patterns) {
+            FluentParser<Character, String> converted = pattern(regex, null);
+            FluentParser<Character, String> reference = pattern(Pattern.compile(regex), null);
+            for (String input : inputs) {
+                ParseResult<Character, ? extends String> expected = reference.parse(fromCharSequence(input));
+                ParseResult<Character, ? extends String> actual = converted.parse(fromCharSequence(input));
+                String description = regex + " on " + input;
+                assertEquals(description, expected.isSuccess(), actual.isSuccess());
+                assertEquals(description, expected.getRest().length(), actual.getRest().length());
+                if (expected.isSuccess()) {
+                    assertEquals(description, expected.getResult(), actual.getResult());
+                } else {
+                    assertEquals(description, expected.getMessage(), actual.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testScanUntil() {
+        FluentParser<Character, String> comment = literal("/*").thenRight(scanUntil("*/")).thenLeft(literal(
+                "*/", null));
+        CharSequence[] inputs = {"/* a * b */x", new StringBuilder("/* a * b */x"), CharBuffer.wrap("/* a * b */x")};
+        for (CharSequence input : inputs) {
+            ParseResult<Character, ? extends String> result = comment.parse(fromCharSequence(input));
+            assertEquals(" a * b ", result.getResult());
+            assertEquals(1, result.getRest().length());
+        }
+        Sequence<Character> window = fromCharSequence("ab\"cd\"").subSequence(0, 5);
+        assertEquals("'\"' expected", scanUntil('"').parse(window.subSequence(3)).getMessage());
+        assertEquals("ab", scanUntil('"').parse(window).getResult());
+        assertEquals(" a", scanUntil(';').parse(fromCharSequence(" a;")).getResult());
+        assertEquals("a", scanUntil(';', Pattern.compile("\\s+")).parse(fromCharSequence(" a;")).getResult());
+        for (CharSequence input : inputs) {
+            Sequence<Character> head = fromCharSequence(input).subSequence(0, 10);
+            assertEquals("'*/' expected", scanUntil("*/").parse(head).getMessage());
+            assertEquals("/* a * b ", scanUntil("*/").parse(fromCharSequence(input).subSequence(0, 11)).getResult());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.Parsers.and;
+import static com.github.jparse.Parsers.not;
+import static com.github.jparse.Parsers.ref;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulParsers.memo;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GrammarTest {
+
+    private static final FluentParser<Character, String> a = literal("a", null);
+    private static final FluentParser<Character, String> b = literal("b", null);
+
+    @Test
+    public void test1() {
+        FluentParser<Character, String> opt = a.opt();
+        FluentParser<Character, String> digits = pattern(Pattern.compile("\\d+"), null);
+        FluentParser<Character, String> converted = pattern("\\d+", null);
+        FluentParser<Character, ?> parser = opt.then(b).then(digits).then(converted);
+        Grammar grammar = Grammar.analyze(parser);
+        assertFalse(grammar.isNullable(parser));
+        assertTrue(grammar.isNullable(opt));
+        assertEquals(new HashSet<Object>(Arrays.asList('a', 'b')), grammar.getFirst(parser));
+        assertNull(grammar.getFirst(digits));
+        assertEquals(10, grammar.getFirst(converted).size());
+        assertTrue(grammar.getProblems().isEmpty());
+    }
+
+    @Test
+    public void test2() {
+        FluentParser<Character, String> opt = a.opt();
+        FluentParser<Character, List<String>> rep = opt.rep();
+        List<String> problems = Grammar.analyze(rep).getProblems();
+        assertEquals(Arrays.asList("repetition of nullable parser " + opt + " in " + rep), problems);
+    }
+
+    @Test
+    public void test3() {
+        FluentParser<Character, String> ab = literal("ab", null);
+        FluentParser<Character, String> parser1 = a.orelse(ab);
+        FluentParser<Character, String> parser2 = a.opt().orelse(b);
+        assertEquals(Arrays.asList("alternative " + ab + " shadowed by " + a + " in " + parser1),
+                Grammar.analyze(parser1).getProblems());
+        assertEquals(Arrays.asList("unreachable alternative " + b + " in " + parser2),
+                Grammar.analyze(parser2).getProblems());
+    }
+
+    @Test
+    public void test4() {
+        FluentParser<Character, String> parser = memo(a.orelse(b).orelse(literal("c", null)).rep1().map(
+                new Function<List<String>, String>() {
+                    @Override
+                    public String apply(List<String> arg) {
+                        StringBuilder sb = new StringBuilder();
+                        for (String s : arg) {
+                            sb.append(s);
+                        }
+                        return sb.toString();
+                    }
+                })).phrase();
+        Grammar grammar = Grammar.analyze(parser);
+        assertTrue(grammar.getLeftRecursive().isEmpty());
+        grammar.optimize();
+        assertEquals("abcba", parser.parse(stateful(fromCharSequence("abcba"))).getResult());
+        ParseResult<Character, ?> result = parser.parse(stateful(fromCharSequence("abd")));
+        assertEquals("end of sequence expected", result.getMessage());
+        assertEquals(1, result.getRest().length());
+    }
+
+    @Test
+    public void test5() {
+        FluentParser<Character, Void> predicate = not(literal("if", null));
+        FluentParser<Character, ?> parser = predicate.orelse(literal("x", null).recognize());
+        Grammar grammar = Grammar.analyze(parser);
+        assertTrue(grammar.getProblems().isEmpty());
+        assertTrue(grammar.isNullable(predicate));
+        assertTrue(grammar.getFirst(predicate).isEmpty());
+        FluentParser<Character, String> guarded = and(a).then(a).map(new Function<Pair<Void, String>, String>() {
+            @Override
+            public String apply(Pair<Void, String> arg) {
+                return arg.getRight();
+            }
+        });
+        FluentParser<Character, String> choice = guarded.orelse(b);
+        grammar = Grammar.analyze(choice);
+        assertEquals(new HashSet<Object>(Arrays.asList('a', 'b')), grammar.getFirst(choice));
+        grammar.optimize();
+        assertEquals("a", choice.parse(fromCharSequence("a")).getResult());
+        assertEquals("b", choice.parse(fromCharSequence("b")).getResult());
+    }
+
+    @Test
+    public void test6() {
+        FluentParser<Character, String> lookahead = pattern(Pattern.compile("(?=a)"), null);
+        FluentParser<Character, String> boundary = pattern(Pattern.compile("\\b"), null);
+        assertFalse(Grammar.analyze(lookahead).isNullable(lookahead));
+        assertFalse(Grammar.analyze(boundary).isNullable(boundary));
+        ParserRef<Character, String> ref = ref();
+        ref.set(lookahead.thenRight(ref).orelse(a));
+        Grammar grammar = Grammar.analyze(ref);
+        assertTrue(grammar.getLeftRecursive().contains(ref));
+        assertEquals(Arrays.asList("infinite left recursion through " + ref), grammar.getProblems());
+        FluentParser<Character, String> anchored = pattern(Pattern.compile("[$^]a"), null);
+        assertTrue(Grammar.analyze(anchored.rep()).getProblems().isEmpty());
+    }
+}
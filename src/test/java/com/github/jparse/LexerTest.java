@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.github.jparse.StatefulSequences.stateful;
+import static com.github.jparse.TokenParsers.token;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LexerTest {
+
+    private static final int IF = 0;
+    private static final int IDENT = 1;
+    private static final int ASSIGN = 2;
+    private static final int EQUALS = 3;
+    private static final int NUMBER = 4;
+
+    private static final Lexer lexer = Lexer.empty().withSkip(CharClass.whitespace()).withLiteral(IF, "if")
+            .withToken(IDENT, CharClass.range('a', 'z'), CharClass.word()).withLiteral(ASSIGN, "=").withLiteral(
+                    EQUALS, "==").withToken(NUMBER, CharClass.digit());
+
+    @Test
+    public void test1() {
+        TokenSequence tokens = lexer.tokenize(" if iffy == 42 = x1 #");
+        assertEquals("[0:if, 1:iffy, 3:==, 4:42, 2:=, 1:x1, -1:#]", tokens.toString());
+        TokenSequence rest = tokens.subSequence(2, 4);
+        assertEquals(2, rest.length());
+        assertEquals(NUMBER, rest.kind(1));
+        assertEquals(12, rest.start(1));
+        assertEquals("42", rest.at(1).getText());
+    }
+
+    @Test
+    public void test2() {
+        FluentParser<Token, List<Token>> parser = token(IDENT).thenLeft(token(ASSIGN)).then(token(NUMBER)).map(
+                new Function<Pair<Token, Token>, Token>() {
+                    @Override
+                    public Token apply(Pair<Token, Token> arg) {
+                        return arg.getRight();
+                    }
+                }).rep().phrase();
+        ParseResult<Token, ? extends List<Token>> result = parser.parse(stateful(lexer.tokenize("a = 1 b = 22")));
+        assertEquals(2, result.getResult().size());
+        assertEquals("22", result.getResult().get(1).getText());
+        ParseResult<Token, ? extends List<Token>> failure = parser.parse(lexer.tokenize("a = b"));
+        assertTrue(failure.isFailure());
+        assertEquals("token 4 expected", token(NUMBER).parse(lexer.tokenize("b")).getMessage());
+    }
+
+    @Test
+    public void test3() {
+        FluentParser<Token, Token> parser = token(IDENT).orelse(token(NUMBER));
+        FluentParser<Token, List<Token>> phrase = parser.rep().phrase();
+        Grammar grammar = Grammar.analyze(phrase);
+        assertEquals(new HashSet<Object>(Arrays.asList(IDENT, NUMBER)), grammar.getFirst(parser));
+        assertTrue(grammar.getProblems().isEmpty());
+        grammar.optimize();
+        ParseResult<Token, ? extends List<Token>> result = phrase.parse(stateful(lexer.tokenize("a 1 b")));
+        assertEquals(3, result.getResult().size());
+        assertEquals("1", result.getResult().get(1).getText());
+        assertTrue(phrase.recognize().parse(lexer.tokenize("a 1 b")).isSuccess());
+        assertEquals("token 4 expected", parser.parse(lexer.tokenize("=")).getMessage());
+    }
+}
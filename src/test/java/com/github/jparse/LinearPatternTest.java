@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LinearPatternTest {
+
+    @Test
+    public void test1() {
+        String[] patterns = {"a|ab", "(a|ab)(c|bcd)", "a*?b", "(?:ab)+", "x{2,3}", "x{2,}?", "[a-c]+d?", "^a$", "a$",
+                "(a*)*b", "\\d+(\\.\\d*)?", "", "a??a", ".*", "(a|b|)+c", "[^x]{1,2}", "\\Aa\\z", "(x|xy)*z"};
+        String[] inputs = {"", "a", "ab", "abcd", "aab", "xxxx", "abcdd", "12.5x", "bbac", "\ud83d\ude00x", "xyxz"};
+        for (String regex : patterns) {
+            LinearPattern linear = LinearPattern.compile(regex);
+            Pattern reference = Pattern.compile(regex);
+            for (String input : inputs) {
+                Matcher matcher = reference.matcher(input);
+                assertEquals(regex + " on " + input, matcher.lookingAt() ? matcher.end() : -1, linear.match(input, 0));
+            }
+        }
+    }
+
+    @Test
+    public void test5() {
+        String[] patterns = {"(?:|a)*", "(?:a??)*", "(?:a*?)*", "(?:a*?|b)+", "(?:.{0,2}?)*", "(?:a|)*", "(?:b*|a)*",
+                "(?:a??b)*", "(?:a?)+?b", "(?:|a)*b", "(?:a*)*?"};
+        String[] inputs = {"", "a", "aa", "ab", "abc", "ba", "aab", "bab"};
+        for (String regex : patterns) {
+            LinearPattern linear = LinearPattern.compile(regex);
+            Pattern reference = Pattern.compile(regex);
+            for (String input : inputs) {
+                Matcher matcher = reference.matcher(input);
+                assertEquals(regex + " on " + input, matcher.lookingAt() ? matcher.end() : -1, linear.match(input, 0));
+            }
+        }
+    }
+
+    @Test
+    public void test2() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append('a');
+        }
+        assertEquals(-1, LinearPattern.compile("(a|aa)*b").match(sb, 0));
+        assertEquals(sb.length(), LinearPattern.compile("(a|aa)*").match(sb, 0));
+        assertTrue(CharParsers.linearPattern("(a|aa)*b").parse(Sequences.fromCharSequence(sb)).isFailure());
+    }
+
+    @Test
+    public void test3() {
+        String[] patterns = {"(a)\\1", "(?=a)", "a++", "\\bfoo", "(?i)a", "[a&&b]", "a{2"};
+        for (String regex : patterns) {
+            try {
+                LinearPattern.compile(regex);
+                fail(regex);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().startsWith("unsupported pattern " + regex));
+            }
+        }
+    }
+
+    @Test
+    public void test4() throws InterruptedException {
+        final StringBuilder sb = new StringBuilder();
+        for (char c = '\u4e00'; c < '\u4e00' + 6000; c++) {
+            sb.append(c).append("\u0436");
+        }
+        sb.append('x');
+        final String[] patterns = {"[^x]*x", "[\u4e00-\u9fff\u0436]+", "(\u4e00\u0436|[^\u4e01])*"};
+        final LinearPattern[] linear = new LinearPattern[patterns.length];
+        final int[] expected = new int[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            linear[i] = LinearPattern.compile(patterns[i]);
+            Matcher matcher = Pattern.compile(patterns[i]).matcher(sb);
+            expected[i] = matcher.lookingAt() ? matcher.end() : -1;
+        }
+        final int[] mismatches = new int[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int round = 0; round < 5; round++) {
+                        for (int i = 0; i < patterns.length; i++) {
+                            if (linear[i].match(sb, 0) != expected[i]) {
+                                synchronized (mismatches) {
+                                    mismatches[0]++;
+                                }
+                            }
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches[0]);
+    }
+}
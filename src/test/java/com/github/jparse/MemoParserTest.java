@@ -26,11 +26,18 @@ package com.github.jparse;
 
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static com.github.jparse.CharParsers.literal;
 import static com.github.jparse.CharParsers.pattern;
 import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulSequences.memoStats;
 import static com.github.jparse.StatefulSequences.stateful;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class MemoParserTest {
 
@@ -107,4 +114,102 @@ public class MemoParserTest {
         ParseResult<Character, ?> result = x.phrase().parse(stateful(fromCharSequence("aa")));
         assertEquals("aa", result.getResult());
     }
+
+    @Test
+    public void test6() {
+        expr = new MemoParser<>(exprRef.then(plus).map(concat).then(num).map(concat).orelse(num));
+        Sequence<Character> sequence = stateful(MemoParserTest.sequence, MemoPolicy.unbounded().withMaxEntries(1)
+                .withWindow(0));
+        ParseResult<Character, ? extends String> result = expr.phrase().parse(sequence);
+        assertEquals(SEQUENCE, result.getResult());
+        assertEquals(1, memoStats(sequence).getSize());
+    }
+
+    @Test
+    public void test7() {
+        ParserRef<Character, String> ref = Parsers.ref();
+        FluentParser<Character, String> rule = StatefulParsers.memo(ref.then(plus).map(concat).then(num).map(concat)
+                .orelse(num));
+        ref.set(rule);
+        Grammar grammar = Grammar.analyze(rule);
+        assertTrue(grammar.isLeftRecursive(rule));
+        assertTrue(grammar.getProblems().isEmpty());
+        grammar.optimize();
+        assertEquals(SEQUENCE, rule.phrase().parse(stateful(sequence)).getResult());
+        assertEquals(SEQUENCE, rule.phrase().stackless().parse(stateful(sequence)).getResult());
+    }
+
+    @Test
+    public void test8() {
+        ParserRef<Character, String> ref = Parsers.lazy(new Supplier<Parser<Character, String>>() {
+            @Override
+            public Parser<Character, String> get() {
+                return expr;
+            }
+        });
+        expr = new MemoParser<>(ref.then(plus).map(concat).then(num).map(concat).orelse(num));
+        assertEquals(SEQUENCE, expr.phrase().parse(stateful(sequence)).getResult());
+        try {
+            ref.set(num);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("reference already set", e.getMessage());
+        }
+        ParserRef<Character, String> unset = Parsers.ref();
+        try {
+            Grammar.analyze(unset).optimize();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("reference not set", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test9() throws InterruptedException {
+        final AtomicInteger calls = new AtomicInteger();
+        final ParserRef<Character, String> ref = Parsers.lazy(new Supplier<Parser<Character, String>>() {
+            @Override
+            public Parser<Character, String> get() {
+                calls.incrementAndGet();
+                return num;
+            }
+        });
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (ref.get() != num || !"1".equals(ref.parse(sequence).getResult())) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    public void test10() {
+        ParserRef<Character, String> outer = Parsers.ref();
+        ParserRef<Character, String> inner = Parsers.ref();
+        outer.set(inner);
+        inner.set(num);
+        Grammar.analyze(outer).optimize();
+        assertSame(inner, outer.get());
+        assertEquals("12", outer.parse(fromCharSequence("12+")).getResult());
+        assertEquals("12", outer.stackless().parse(fromCharSequence("12+")).getResult());
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulParsers.packrat;
+import static com.github.jparse.StatefulSequences.memoStats;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PackratParserTest {
+
+    private int count;
+    private final Parser<Character, String> a = new FluentParser<Character, String>() {
+        @Override
+        public ParseResult<Character, ? extends String> parse(Sequence<Character> sequence) {
+            count++;
+            return literal("a").parse(sequence);
+        }
+    };
+
+    @Test
+    public void test1() {
+        FluentParser<Character, String> x = packrat(a);
+        FluentParser<Character, String> parser = x.thenLeft(literal("b")).orelse(x.thenLeft(literal("c"))).orelse(x);
+        ParseResult<Character, ?> result = parser.phrase().parse(stateful(fromCharSequence("a")));
+        assertEquals("a", result.getResult());
+        assertEquals(1, count);
+    }
+
+    @Test
+    public void test2() {
+        FluentParser<Character, String> x = packrat(a);
+        ParseResult<Character, ?> result = x.then(x).parse(stateful(fromCharSequence("ab")));
+        assertEquals("'a' expected", result.getMessage());
+        assertEquals(1, result.getRest().length());
+        assertEquals(2, count);
+    }
+
+    @Test
+    public void test3() {
+        FluentParser<Character, String> x = packrat(a);
+        FluentParser<Character, String> parser = x.thenLeft(literal("b")).orelse(x);
+        Sequence<Character> sequence = stateful(fromCharSequence("a"), MemoPolicy.unbounded().disable(x));
+        assertEquals("a", parser.parse(sequence).getResult());
+        assertEquals(2, count);
+        assertEquals(0, memoStats(sequence).getHits());
+    }
+
+    @Test
+    public void test4() {
+        FluentParser<Character, String> x = packrat(a);
+        FluentParser<Character, String> y = packrat(literal("b"));
+        FluentParser<Character, String> parser = x.thenLeft(y).thenLeft(literal("c")).orelse(x);
+        Sequence<Character> sequence = stateful(fromCharSequence("ab"), MemoPolicy.unbounded().withMaxEntries(1));
+        assertEquals("a", parser.parse(sequence).getResult());
+        MemoStats stats = memoStats(sequence);
+        assertEquals(2, count);
+        assertEquals(2, stats.getEvictions());
+        assertEquals(1, stats.getRecomputations());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void test5() {
+        FluentParser<Character, String> x = packrat(a);
+        FluentParser<Character, String> y = packrat(literal("b"));
+        FluentParser<Character, String> parser = x.thenLeft(y).thenLeft(literal("c")).orelse(x.thenLeft(y)).rep()
+                .map(new Function<List<String>, String>() {
+                    @Override
+                    public String apply(List<String> arg) {
+                        return String.valueOf(arg.size());
+                    }
+                });
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append("ab");
+        }
+        Sequence<Character> sequence = stateful(fromCharSequence(input), MemoPolicy.unbounded().withMaxEntries(1));
+        assertEquals("1000", parser.phrase().parse(sequence).getResult());
+        MemoStats stats = memoStats(sequence);
+        assertEquals(2001, count);
+        assertEquals(2000, stats.getRecomputations());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void test6() {
+        FluentParser<Character, String> x = packrat(a);
+        FluentParser<Character, String> y = packrat(literal("b"));
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            input.append('a');
+        }
+        Sequence<Character> sequence = stateful(fromCharSequence(input), MemoPolicy.unbounded().withWindow(2));
+        assertTrue(x.thenLeft(x.rep()).thenLeft(literal("c")).orelse(y).parse(sequence).isFailure());
+        assertEquals(0, memoStats(sequence).getRecomputations());
+        sequence = stateful(fromCharSequence(input), MemoPolicy.unbounded().withWindow(2));
+        assertEquals("a", x.thenLeft(x.rep()).thenLeft(literal("c")).orelse(x).parse(sequence).getResult());
+        assertEquals(1, memoStats(sequence).getRecomputations());
+    }
+}
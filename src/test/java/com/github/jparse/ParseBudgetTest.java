@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulSequences.budgetUsage;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParseBudgetTest {
+
+    private static FluentParser<Character, String> exponential(int depth) {
+        FluentParser<Character, String> parser = literal("a");
+        for (int i = 0; i < depth; i++) {
+            parser = parser.thenLeft(literal("b")).orelse(parser.thenLeft(literal("c")));
+        }
+        return parser;
+    }
+
+    @Test
+    public void test1() {
+        Sequence<Character> sequence = stateful(fromCharSequence("ad"), ParseBudget.unlimited().withMaxSteps(10000));
+        ParseResult<Character, ?> result = exponential(40).parse(sequence);
+        assertTrue(result.isError());
+        assertEquals("parse budget exhausted: steps", result.getMessage());
+        BudgetUsage usage = budgetUsage(sequence);
+        assertEquals("steps", usage.getExhausted());
+        assertEquals(10001, usage.getSteps());
+    }
+
+    @Test
+    public void test2() {
+        Sequence<Character> sequence = stateful(fromCharSequence("ad"), ParseBudget.unlimited().withMaxBacktracks(
+                100));
+        ParseResult<Character, ?> result = exponential(40).parse(sequence);
+        assertEquals("parse budget exhausted: backtracks", result.getMessage());
+        assertEquals(101, budgetUsage(sequence).getMaxBacktracksAtOffset());
+    }
+
+    @Test
+    public void test3() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        Sequence<Character> sequence = stateful(fromCharSequence("ad"), ParseBudget.unlimited().withCancellation(
+                token).withTimeout(1, TimeUnit.HOURS));
+        assertEquals("parse budget exhausted: cancelled", exponential(40).parse(sequence).getMessage());
+    }
+
+    @Test
+    public void test4() {
+        Sequence<Character> sequence = stateful(fromCharSequence("abcb"), ParseBudget.unlimited().withMaxSteps(
+                1000));
+        assertTrue(exponential(3).parse(sequence).isSuccess());
+        BudgetUsage usage = budgetUsage(sequence);
+        assertFalse(usage.isExhausted());
+        assertTrue(usage.getSteps() > 0);
+    }
+
+    @Test
+    public void test5() throws InterruptedException {
+        Sequence<Character> sequence = stateful(fromCharSequence("abcb"), ParseBudget.unlimited());
+        assertEquals(0, budgetUsage(sequence).getElapsedNanos());
+        Thread.sleep(50);
+        assertTrue(exponential(3).parse(sequence).isSuccess());
+        long elapsed = budgetUsage(sequence).getElapsedNanos();
+        assertTrue(elapsed > 0 && elapsed < TimeUnit.MILLISECONDS.toNanos(50));
+        Thread.sleep(10);
+        assertEquals(elapsed, budgetUsage(sequence).getElapsedNanos());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulParsers.memo;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParseHandlerTest {
+
+    private static final class Recorder implements ParseHandler {
+
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startRule(String name) {
+            events.add("<" + name);
+        }
+
+        @Override
+        public void endRule(String name) {
+            events.add(name + ">");
+        }
+
+        @Override
+        public void token(String name, Object value) {
+            events.add(name + "=" + value);
+        }
+    }
+
+    private static final FluentParser<Character, String> a = literal("a").emit("a");
+    private static final FluentParser<Character, String> number = pattern("\\d+").emit("number");
+
+    @Test
+    public void testRollback() {
+        FluentParser<Character, ?> parser = a.then(literal("b")).event("ab").orelse(a.then(literal("c")).event(
+                "ac")).sepBy1(literal(",")).event("list");
+        Recorder recorder = new Recorder();
+        assertTrue(parser.handle(recorder).parse(fromCharSequence("a c, a b, a")).isSuccess());
+        assertEquals(Arrays.asList("<list", "<ac", "a=a", "ac>", "<ab", "a=a", "ab>", "list>"), recorder.events);
+        Recorder stackless = new Recorder();
+        assertTrue(parser.handle(stackless).stackless().parse(fromCharSequence("a c, a b, a")).isSuccess());
+        assertEquals(recorder.events, stackless.events);
+        Recorder failed = new Recorder();
+        assertTrue(parser.phrase().handle(failed).parse(fromCharSequence("a c, a b, a")).isFailure());
+        assertTrue(failed.events.isEmpty());
+    }
+
+    @Test
+    public void testMemo() {
+        FluentParser<Character, String> rule = memo(a.event("A"));
+        FluentParser<Character, ?> parser = rule.then(literal("b")).orelse(rule.then(number)).event("pair");
+        Recorder recorder = new Recorder();
+        assertTrue(parser.handle(recorder).parse(stateful(fromCharSequence("a 1"))).isSuccess());
+        assertEquals(Arrays.asList("<pair", "<A", "a=a", "A>", "number=1", "pair>"), recorder.events);
+        assertTrue(Parsers.not(rule).then(number).handle(new Recorder()).parse(stateful(fromCharSequence("1")))
+                .isSuccess());
+    }
+
+    @Test
+    public void testCommit() {
+        final Recorder recorder = new Recorder();
+        final List<Integer> delivered = new ArrayList<>();
+        Parser<Character, Object> probe = new Parser<Character, Object>() {
+            @Override
+            public ParseResult<Character, ?> parse(Sequence<Character> sequence) {
+                delivered.add(recorder.events.size());
+                return ParseResult.success(null, sequence);
+            }
+        };
+        FluentParser<Character, ?> parser = FluentParser.from(probe).thenRight(number.thenLeft(literal(";"))
+                .commit()).rep();
+        assertTrue(parser.handle(recorder).parse(fromCharSequence("1; 2; 3;")).isSuccess());
+        assertEquals(Arrays.asList(0, 1, 2, 3), delivered);
+        assertEquals(Arrays.asList("number=1", "number=2", "number=3"), recorder.events);
+    }
+
+    @Test
+    public void testCommitCut() {
+        FluentParser<Character, ?> parser = a.event("A").commit().then(literal("b")).orelse(a.then(literal("c"))
+                .event("ac"));
+        Recorder recorder = new Recorder();
+        ParseResult<Character, ?> result = parser.handle(recorder).parse(fromCharSequence("a c"));
+        assertTrue(result.isError());
+        assertEquals("'b' expected", result.getMessage());
+        assertEquals(Arrays.asList("<A", "a=a", "A>"), recorder.events);
+        Recorder stackless = new Recorder();
+        assertTrue(parser.handle(stackless).stackless().parse(fromCharSequence("a c")).isError());
+        assertEquals(recorder.events, stackless.events);
+        Recorder uncommitted = new Recorder();
+        assertTrue(a.event("A").then(literal("b")).orelse(a.then(literal("c")).event("ac")).handle(uncommitted)
+                .parse(fromCharSequence("a c")).isSuccess());
+        assertEquals(Arrays.asList("<ac", "a=a", "ac>"), uncommitted.events);
+        FluentParser<Character, ?> list = a.commit().then(literal("x")).event("list");
+        Recorder open = new Recorder();
+        assertTrue(list.handle(open).parse(fromCharSequence("a y")).isError());
+        assertEquals(Arrays.asList("<list", "a=a"), open.events);
+        Recorder optional = new Recorder();
+        assertTrue(a.commit().then(literal("x")).opt().then(number).handle(optional).parse(fromCharSequence("a 1"))
+                .isError());
+        assertEquals(Arrays.asList("a=a"), optional.events);
+    }
+
+    @Test
+    public void testForwarder() {
+        final FluentParser<Character, String> pair = number.thenLeft(literal(",")).then(number).event("pair")
+                .map(new Function<Pair<String, String>, String>() {
+                    @Override
+                    public String apply(Pair<String, String> arg) {
+                        return arg.getLeft() + arg.getRight();
+                    }
+                });
+        FluentParser<Character, String> forwarder = new FluentParser<Character, String>() {
+            @Override
+            public ParseResult<Character, ? extends String> parse(Sequence<Character> sequence) {
+                return pair.parse(sequence);
+            }
+        };
+        FluentParser<Character, String> wrapped = FluentParser.from(new Parser<Character, String>() {
+            @Override
+            public ParseResult<Character, ? extends String> parse(Sequence<Character> sequence) {
+                return number.parse(sequence);
+            }
+        });
+        FluentParser<Character, ?> parser = forwarder.orelse(wrapped).event("item").rep();
+        List<String> expected = Arrays.asList("<item", "<pair", "number=1", "number=2", "pair>", "item>", "<item",
+                "number=3", "item>");
+        Recorder recorder = new Recorder();
+        assertTrue(parser.handle(recorder).parse(fromCharSequence("1, 2 3")).isSuccess());
+        assertEquals(expected, recorder.events);
+        Recorder stackless = new Recorder();
+        assertTrue(parser.handle(stackless).stackless().parse(stateful(fromCharSequence("1, 2 3"))).isSuccess());
+        assertEquals(expected, stackless.events);
+    }
+}
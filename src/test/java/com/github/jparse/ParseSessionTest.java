@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulParsers.memo;
+import static com.github.jparse.StatefulSequences.memoStats;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParseSessionTest {
+
+    private static final State<int[]> COUNT = new State<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    private static final FluentParser<Character, String> parser = memo(pattern("\\d+").map(
+            new Function<String, String>() {
+                @Override
+                public String apply(String arg) {
+                    return arg;
+                }
+            })).thenLeft(literal(";")).rep().map(new Function<List<String>, String>() {
+        @Override
+        public String apply(List<String> arg) {
+            return arg.toString();
+        }
+    }).phrase();
+
+    @Test
+    public void test1() {
+        ParseSession session = new ParseSession();
+        Sequence<Character> first = session.reset(fromCharSequence("1;2;"));
+        COUNT.get(first)[0]++;
+        assertEquals("[1, 2]", parser.parse(first).getResult());
+        MemoTable table = MemoTable.get(first);
+        assertTrue(memoStats(first).getSize() > 0);
+        Sequence<Character> second = session.reset(fromCharSequence("3;"));
+        assertEquals(0, COUNT.get(second)[0]);
+        assertEquals(0, memoStats(second).getSize());
+        assertEquals("[3]", parser.parse(second).getResult());
+        assertSame(table, MemoTable.get(second));
+    }
+
+    @Test
+    public void test2() {
+        List<ParseResult<Character, ? extends String>> results = parser.parseAll(Arrays.asList(fromCharSequence(
+                "1;"), fromCharSequence("x"), fromCharSequence("4;5;")));
+        assertEquals("[1]", results.get(0).getResult());
+        assertTrue(results.get(1).isFailure());
+        assertEquals("[4, 5]", results.get(2).getResult());
+    }
+
+    @Test
+    public void test3() {
+        State<StringBuilder> buffer = new TransactionalState<StringBuilder>() {
+            @Override
+            protected StringBuilder initialValue() {
+                return new StringBuilder();
+            }
+
+            @Override
+            protected StringBuilder reset(StringBuilder value) {
+                value.setLength(0);
+                return value;
+            }
+        };
+        State<String> name = new TransactionalState<>();
+        ParseSession session = new ParseSession();
+        Sequence<Character> first = session.reset(fromCharSequence("1;"));
+        StringBuilder builder = buffer.get(first).append("x");
+        name.set(first, "x");
+        Sequence<Character> second = session.reset(fromCharSequence("2;"));
+        assertSame(builder, buffer.get(second));
+        assertEquals(0, builder.length());
+        assertNull(name.get(second));
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParsersTest {
+
+    private static final FluentParser<Character, String> a = literal("a");
+
+    @Test
+    public void testRep() {
+        ParseResult<Character, ?> result = a.rep().parse(fromCharSequence("aab"));
+        assertEquals(Arrays.asList("a", "a"), result.getResult());
+        assertEquals(1, result.getRest().length());
+    }
+
+    @Test
+    public void testRepMN() {
+        assertEquals(Arrays.asList("a", "a", "a"), a.repMN(2).parse(fromCharSequence("aaa")).getResult());
+        assertEquals(Arrays.asList("a", "a"), a.repMN(1, 2).parse(fromCharSequence("aaa")).getResult());
+        assertEquals("'a' expected", a.repMN(2).parse(fromCharSequence("ab")).getMessage());
+    }
+
+    @Test
+    public void testSeq() {
+        FluentParser<Character, String> parser = a.seq(literal("b"), pattern("\\d+"),
+                new Function3<String, String, String, String>() {
+                    @Override
+                    public String apply(String arg1, String arg2, String arg3) {
+                        return arg1 + arg2 + arg3;
+                    }
+                });
+        assertEquals("ab12", parser.parse(fromCharSequence("a b 12")).getResult());
+        assertEquals("'b' expected", parser.parse(fromCharSequence("a c 12")).getMessage());
+    }
+
+    @Test
+    public void testSeqArities() {
+        FluentParser<Character, Integer> digit = pattern("\\d").map(new Function<String, Integer>() {
+            @Override
+            public Integer apply(String arg) {
+                return Integer.valueOf(arg);
+            }
+        });
+        FluentParser<Character, Integer> seq2 = digit.seq(a, new Function2<Integer, String, Integer>() {
+            @Override
+            public Integer apply(Integer arg1, String arg2) {
+                return arg1 + arg2.length();
+            }
+        });
+        FluentParser<Character, Integer> seq4 = digit.seq(digit, digit, digit,
+                new Function4<Integer, Integer, Integer, Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer arg1, Integer arg2, Integer arg3, Integer arg4) {
+                        return arg1 * 1000 + arg2 * 100 + arg3 * 10 + arg4;
+                    }
+                });
+        FluentParser<Character, String> seq5 = a.seq(digit, a, digit, a,
+                new Function5<String, Integer, String, Integer, String, String>() {
+                    @Override
+                    public String apply(String arg1, Integer arg2, String arg3, Integer arg4, String arg5) {
+                        return arg1 + (arg2 + arg4) + arg3 + arg5;
+                    }
+                });
+        FluentParser<Character, Integer> seq6 = digit.seq(digit, digit, digit, digit, digit,
+                new Function6<Integer, Integer, Integer, Integer, Integer, Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer arg1, Integer arg2, Integer arg3, Integer arg4, Integer arg5,
+                            Integer arg6) {
+                        return arg1 + arg2 + arg3 + arg4 + arg5 + arg6;
+                    }
+                });
+        assertEquals(Integer.valueOf(3), seq2.parse(fromCharSequence("2a")).getResult());
+        assertEquals(Integer.valueOf(1234), seq4.parse(fromCharSequence("1234")).getResult());
+        assertEquals(Integer.valueOf(1234), seq4.stackless().parse(fromCharSequence("1234")).getResult());
+        assertEquals("a5aa", seq5.parse(fromCharSequence("a2a3a")).getResult());
+        assertEquals(Integer.valueOf(21), seq6.parse(fromCharSequence("123456")).getResult());
+        assertEquals(Integer.valueOf(21), seq6.stackless().parse(fromCharSequence("123456")).getResult());
+        assertTrue(seq6.parse(fromCharSequence("12345")).isFailure());
+    }
+
+    @Test
+    public void testStream() {
+        final int[] parsed = new int[1];
+        FluentParser<Character, Integer> record = pattern("\\d+").thenLeft(literal(";")).map(
+                new Function<String, Integer>() {
+                    @Override
+                    public Integer apply(String arg) {
+                        parsed[0]++;
+                        return Integer.valueOf(arg);
+                    }
+                });
+        Iterator<Integer> iterator = Parsers.stream(record, fromCharSequence("1; 22; 333;"));
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertEquals(1, parsed[0]);
+        assertEquals(Integer.valueOf(22), iterator.next());
+        assertEquals(Integer.valueOf(333), iterator.next());
+        assertFalse(iterator.hasNext());
+        iterator = Parsers.stream(record, fromCharSequence("1; 2;\n"));
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertEquals(Integer.valueOf(2), iterator.next());
+        assertFalse(iterator.hasNext());
+        iterator = Parsers.stream(record, fromCharSequence("1; 2;\n x"));
+        iterator.next();
+        iterator.next();
+        try {
+            iterator.hasNext();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("'\\d+' expected", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPredicates() {
+        FluentParser<Character, String> keyword = literal("if").thenLeft(Parsers.not(CharParsers.charIn(
+                CharClass.word(), null)));
+        FluentParser<Character, String> identifier = Parsers.not(keyword).thenRight(pattern("[a-z]+"));
+        assertEquals("iffy", identifier.parse(fromCharSequence(" iffy")).getResult());
+        ParseResult<Character, ? extends String> result = identifier.parse(fromCharSequence(" if x"));
+        assertEquals("unexpected input", result.getMessage());
+        assertEquals(5, result.getRest().length());
+        FluentParser<Character, String> beforeEquals = Parsers.and(pattern("\\w+=")).thenRight(pattern("\\w+"));
+        assertEquals("ab", beforeEquals.parse(fromCharSequence("ab=1")).getResult());
+        assertTrue(beforeEquals.parse(fromCharSequence("ab")).isFailure());
+        assertEquals(2, beforeEquals.parse(fromCharSequence("ab")).getRest().length());
+        assertEquals("iffy", identifier.stackless().parse(fromCharSequence("iffy")).getResult());
+    }
+
+    @Test
+    public void testSepBy() {
+        FluentParser<Character, String> comma = literal(",");
+        ParseResult<Character, ?> result = a.sepBy(comma).parse(fromCharSequence("a, a,b"));
+        assertEquals(Arrays.asList("a", "a"), result.getResult());
+        assertEquals(2, result.getRest().length());
+        assertEquals(Arrays.asList(), a.sepBy(comma).parse(fromCharSequence("b")).getResult());
+        assertEquals("'a' expected", a.sepBy1(comma).parse(fromCharSequence("b")).getMessage());
+        result = a.endBy(comma).parse(fromCharSequence("a,a,a"));
+        assertEquals(Arrays.asList("a", "a"), result.getResult());
+        assertEquals(1, result.getRest().length());
+        assertEquals(Arrays.asList("a"), a.endBy1(comma).stackless().parse(fromCharSequence("a,a")).getResult());
+        assertEquals(Arrays.asList("a", "a"), a.sepBy(comma).stackless().parse(fromCharSequence("a,a,")).getResult());
+    }
+
+    @Test
+    public void testChain() {
+        FluentParser<Character, Integer> number = pattern("\\d+").map(new Function<String, Integer>() {
+            @Override
+            public Integer apply(String arg) {
+                return Integer.valueOf(arg);
+            }
+        });
+        FluentParser<Character, Function2<Integer, Integer, Integer>> minus = literal("-").map(
+                new Function<String, Function2<Integer, Integer, Integer>>() {
+                    @Override
+                    public Function2<Integer, Integer, Integer> apply(String arg) {
+                        return new Function2<Integer, Integer, Integer>() {
+                            @Override
+                            public Integer apply(Integer arg1, Integer arg2) {
+                                return arg1 - arg2;
+                            }
+                        };
+                    }
+                });
+        assertEquals(Integer.valueOf(-4), number.chainl1(minus).parse(fromCharSequence("10 - 4 - 10")).getResult());
+        assertEquals(Integer.valueOf(-4), number.chainl1(minus).deferred().parse(fromCharSequence("10 - 4 - 10"))
+                .getResult());
+        assertEquals(Integer.valueOf(16), number.chainr1(minus).parse(fromCharSequence("10 - 4 - 10")).getResult());
+        ParseResult<Character, ?> result = number.chainl1(minus).stackless().parse(fromCharSequence("1 - 2 -"));
+        assertEquals(Integer.valueOf(-1), result.getResult());
+        assertEquals(2, result.getRest().length());
+        assertTrue(Grammar.analyze(number.chainl1(minus)).getProblems().isEmpty());
+        FluentParser<Character, ?> list = a.sepBy1(literal(","));
+        Grammar grammar = Grammar.analyze(list);
+        assertEquals(grammar.getFirst(a), grammar.getFirst(list));
+        assertFalse(grammar.isNullable(list));
+    }
+
+    @Test
+    public void testRecognize() {
+        final int[] calls = new int[1];
+        FluentParser<Character, String> word = pattern("[a-z]+").map(new Function<String, String>() {
+            @Override
+            public String apply(String arg) {
+                calls[0]++;
+                return arg.toUpperCase();
+            }
+        });
+        FluentParser<Character, List<Pair<String, List<String>>>> parser = StatefulParsers.memo(word.then(
+                literal("=").thenRight(word.sepBy1(literal(",")))).rep1());
+        FluentParser<Character, List<Pair<String, List<String>>>> phrase = parser.phrase();
+        FluentParser<Character, Void> recognizer = phrase.recognize();
+        ParseResult<Character, ?> result = recognizer.parse(stateful(fromCharSequence("a = b, c d = e")));
+        assertTrue(result.isSuccess());
+        assertNull(result.getResult());
+        assertEquals(0, calls[0]);
+        ParseResult<Character, ?> failure = recognizer.stackless().parse(stateful(fromCharSequence("a = b, c d =")));
+        ParseResult<Character, ?> expected = phrase.parse(stateful(fromCharSequence("a = b, c d =")));
+        assertEquals(expected.getMessage(), failure.getMessage());
+        assertEquals(expected.getRest().length(), failure.getRest().length());
+        Sequence<Character> sequence = stateful(fromCharSequence("a = b"));
+        assertTrue(parser.recognize().parse(sequence).isSuccess());
+        assertEquals(Arrays.asList(Pair.create("A", Arrays.asList("B"))), parser.parse(sequence).getResult());
+    }
+
+    @Test
+    public void testDeferred() {
+        final int[] calls = new int[1];
+        FluentParser<Character, String> word = pattern("[a-z]+").map(new Function<String, String>() {
+            @Override
+            public String apply(String arg) {
+                calls[0]++;
+                return arg.toUpperCase();
+            }
+        });
+        FluentParser<Character, List<String>> parser = word.thenLeft(literal("!")).orelse(word.thenLeft(
+                literal("?"))).rep();
+        assertEquals(Arrays.asList("A", "B", "C"), parser.parse(fromCharSequence("a? b! c?")).getResult());
+        assertEquals(5, calls[0]);
+        calls[0] = 0;
+        assertEquals(Arrays.asList("A", "B", "C"), parser.deferred().parse(fromCharSequence("a? b! c?")).getResult());
+        assertEquals(3, calls[0]);
+        calls[0] = 0;
+        assertEquals(Pair.create("A", Arrays.asList("B")), word.thenLeft(literal("?")).commit().orelse(word).then(
+                word.rep()).deferred().parse(fromCharSequence("a? b")).getResult());
+        assertEquals(2, calls[0]);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.CharParsers.patternSpan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PushParserTest {
+
+    private static final FluentParser<Character, List<String>> record = pattern("\\w+", null).thenLeft(literal(",",
+            null)).rep().then(pattern("\\w+", null)).map(new Function<Pair<List<String>, String>, List<String>>() {
+        @Override
+        public List<String> apply(Pair<List<String>, String> arg) {
+            List<String> fields = new ArrayList<>(arg.getLeft());
+            fields.add(arg.getRight());
+            return fields;
+        }
+    }).thenLeft(literal(";\n", null));
+
+    @Test
+    public void test1() {
+        PushParser<List<String>> parser = PushParser.create(record);
+        assertNull(parser.feed("ab,c"));
+        assertNull(parser.feed("d,e"));
+        assertNull(parser.feed(";"));
+        ParseResult<Character, ? extends List<String>> result = parser.feed("\nx,y;\nz");
+        assertEquals("[ab, cd, e]", result.getResult().toString());
+        assertEquals("[x, y]", parser.poll().getResult().toString());
+        assertNull(parser.poll());
+        assertEquals(1, parser.getBuffered());
+        assertTrue(parser.end().isFailure());
+    }
+
+    @Test
+    public void test2() {
+        PushParser<List<String>> parser = PushParser.create(record);
+        assertNull(parser.feed("a,b"));
+        assertEquals("';\n' expected", parser.feed("!").getMessage());
+        assertNull(PushParser.create(record).end());
+    }
+
+    @Test
+    public void test3() {
+        final int[] tokens = new int[1];
+        FluentParser<Character, String> field = pattern("\\w+", null).map(new Function<String, String>() {
+            @Override
+            public String apply(String arg) {
+                tokens[0]++;
+                return arg;
+            }
+        });
+        PushParser<List<String>> parser = PushParser.create(field.thenLeft(literal(",", null)).rep().thenLeft(
+                literal(";", null)));
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append(i).append(',');
+        }
+        for (int i = 0; i < input.length(); i++) {
+            assertNull(parser.feed(input.subSequence(i, i + 1)));
+        }
+        assertEquals(1000, tokens[0]);
+        assertEquals(1000, parser.feed(";").getResult().size());
+        assertEquals(1000, tokens[0]);
+    }
+
+    @Test
+    public void test4() {
+        PushParser<String> parser = PushParser.create(pattern("\\d+", null).thenLeft(literal(";", null)));
+        ParseResult<Character, ? extends String> result = parser.feed("1;23");
+        assertEquals("1", result.getResult());
+        assertEquals(2, result.getRest().length());
+        assertEquals("23", result.getRest().toString());
+        assertEquals('3', (char) result.getRest().at(1));
+        assertNull(parser.poll());
+        result = parser.feed("!");
+        assertEquals("';' expected", result.getMessage());
+        assertEquals("!", result.getRest().toString());
+    }
+
+    @Test
+    public void test5() {
+        final int[] heads = new int[1];
+        FluentParser<Character, String> head = pattern("\\w+", null).thenLeft(literal(",", null)).map(
+                new Function<String, String>() {
+                    @Override
+                    public String apply(String arg) {
+                        heads[0]++;
+                        return arg;
+                    }
+                });
+        FluentParser<Character, String> choice = literal("x", null).orelse(literal("y", null));
+        Grammar.analyze(choice).optimize();
+        PushParser<?> parser = PushParser.create(head.then(patternSpan(Pattern.compile("\\w+"), null)).thenLeft(
+                literal(";", null)));
+        assertNull(parser.feed("ab,c"));
+        assertNull(parser.feed("d"));
+        assertTrue(parser.feed(";").isSuccess());
+        assertEquals(1, heads[0]);
+        heads[0] = 0;
+        parser = PushParser.create(head.then(choice).thenLeft(literal(";", null)));
+        assertNull(parser.feed("ab,"));
+        assertNull(parser.feed("y"));
+        assertTrue(parser.feed(";").isSuccess());
+        assertEquals(1, heads[0]);
+    }
+
+    @Test
+    public void test6() {
+        final int[] heads = new int[1];
+        FluentParser<Character, String> head = pattern("\\w+", null).thenLeft(literal(",", null)).map(
+                new Function<String, String>() {
+                    @Override
+                    public String apply(String arg) {
+                        heads[0]++;
+                        return arg;
+                    }
+                });
+        final Parser<Character, String> tail = pattern("\\w+;", null);
+        Parser<Character, String> opaque = new Parser<Character, String>() {
+            @Override
+            public ParseResult<Character, ? extends String> parse(Sequence<Character> sequence) {
+                return tail.parse(sequence);
+            }
+        };
+        PushParser<?> parser = PushParser.create(head.then(opaque));
+        assertNull(parser.feed("ab,c"));
+        assertNull(parser.feed("d"));
+        assertTrue(parser.feed(";").isSuccess());
+        assertEquals(3, heads[0]);
+    }
+
+    @Test
+    public void testStream() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append("a,").append(i).append(";\n");
+        }
+        Iterator<List<String>> iterator = CharParsers.stream(record, new StringReader(sb.toString()));
+        int count = 0;
+        while (iterator.hasNext()) {
+            assertEquals(String.valueOf(count), iterator.next().get(1));
+            count++;
+        }
+        assertEquals(10000, count);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testStreamTrailingWhitespace() {
+        FluentParser<Character, String> number = pattern("\\d+").thenLeft(literal(";"));
+        Iterator<String> iterator = CharParsers.stream(number, new StringReader("1; 2;\n"));
+        assertEquals("1", iterator.next());
+        assertEquals("2", iterator.next());
+        assertFalse(iterator.hasNext());
+        iterator = CharParsers.stream(pattern("\\d+", null).thenLeft(literal(";", null)), new StringReader("1;\n\n"));
+        assertEquals("1", iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StacklessParserTest {
+
+    private static final int DEPTH = 100000;
+
+    private final FluentParser<Character, String> exprRef = new FluentParser<Character, String>() {
+        @Override
+        public ParseResult<Character, ? extends String> parse(Sequence<Character> sequence) {
+            return expr.parse(sequence);
+        }
+    };
+    private MemoParser<Character, String> expr;
+
+    @Test
+    public void test1() {
+        FluentParser<Character, Integer> parser = literal("x", null).map(new Function<String, Integer>() {
+            @Override
+            public Integer apply(String arg) {
+                return 0;
+            }
+        });
+        for (int i = 0; i < DEPTH; i++) {
+            parser = literal("[", null).thenRight(parser).thenLeft(literal("]", null)).map(
+                    new Function<Integer, Integer>() {
+                        @Override
+                        public Integer apply(Integer arg) {
+                            return arg + 1;
+                        }
+                    });
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < DEPTH; i++) {
+            sb.append('[');
+        }
+        sb.append('x');
+        for (int i = 0; i < DEPTH; i++) {
+            sb.append(']');
+        }
+        assertEquals(Integer.valueOf(DEPTH), parser.stackless().parse(fromCharSequence(sb)).getResult());
+        sb.setLength(sb.length() - 1);
+        assertEquals("']' expected", parser.stackless().parse(fromCharSequence(sb)).getMessage());
+    }
+
+    @Test
+    public void test2() {
+        FluentParser<Character, String> plus = literal("+");
+        FluentParser<Character, String> num = pattern("\\d+");
+        expr = new MemoParser<>(exprRef.then(plus).then(num).map(new Function<Pair<Pair<String, String>, String>,
+                String>() {
+            @Override
+            public String apply(Pair<Pair<String, String>, String> arg) {
+                return arg.getLeft().getLeft() + arg.getLeft().getRight() + arg.getRight();
+            }
+        }).orelse(num));
+        FluentParser<Character, List<String>> parser = expr.thenLeft(literal(";")).rep().phrase().stackless();
+        ParseResult<Character, ? extends List<String>> result = parser.parse(stateful(fromCharSequence(
+                "1+2+3; 4;")));
+        assertEquals("[1+2+3, 4]", result.getResult().toString());
+        assertTrue(parser.parse(stateful(fromCharSequence("1+;"))).isFailure());
+    }
+
+    @Test
+    public void test3() {
+        ParserRef<Character, Integer> ref = Parsers.ref();
+        ref.set(literal("(", null).thenRight(ref).thenLeft(literal(")", null)).map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer arg) {
+                return arg + 1;
+            }
+        }).orelse(literal("x", null).map(new Function<String, Integer>() {
+            @Override
+            public Integer apply(String arg) {
+                return 0;
+            }
+        })));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < DEPTH; i++) {
+            sb.append('(');
+        }
+        sb.append('x');
+        for (int i = 0; i < DEPTH; i++) {
+            sb.append(')');
+        }
+        Grammar.analyze(ref).optimize();
+        assertEquals(Integer.valueOf(DEPTH), ref.stackless().parse(fromCharSequence(sb)).getResult());
+    }
+}
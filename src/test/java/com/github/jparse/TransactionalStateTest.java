@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 Igor Konev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.github.jparse;
+
+import org.junit.Test;
+
+import static com.github.jparse.CharParsers.literal;
+import static com.github.jparse.CharParsers.pattern;
+import static com.github.jparse.Sequences.fromCharSequence;
+import static com.github.jparse.StatefulSequences.stateful;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionalStateTest {
+
+    private static final FluentParser<Character, String> name = pattern("[a-z]+");
+
+    private static FluentParser<Character, String> declare(final State<String> scope) {
+        return FluentParser.from(new Parser<Character, String>() {
+            @Override
+            public ParseResult<Character, ? extends String> parse(Sequence<Character> sequence) {
+                ParseResult<Character, ? extends String> result = name.parse(sequence);
+                if (result.isSuccess()) {
+                    scope.set(sequence, scope.get(sequence) + result.getResult() + ";");
+                }
+                return result;
+            }
+        });
+    }
+
+    private static FluentParser<Character, ?> grammar(State<String> scope) {
+        FluentParser<Character, String> let = literal("let");
+        return let.thenRight(declare(scope)).thenLeft(literal("!")).orelse(let.thenRight(name).thenLeft(literal(
+                "?"))).orelse(Parsers.not(declare(scope)).thenRight(literal("."))).rep();
+    }
+
+    @Test
+    public void testRollback() {
+        State<String> scope = new TransactionalState<String>() {
+            @Override
+            protected String initialValue() {
+                return "";
+            }
+        };
+        Sequence<Character> sequence = stateful(fromCharSequence("let a ? let b ! . let c ?"));
+        assertTrue(grammar(scope).phrase().parse(sequence).isSuccess());
+        assertEquals("b;", scope.get(sequence));
+        sequence = stateful(fromCharSequence("let a ? let b ! . let c ?"));
+        assertTrue(grammar(scope).phrase().stackless().parse(sequence).isSuccess());
+        assertEquals("b;", scope.get(sequence));
+    }
+
+    @Test
+    public void testNonTransactional() {
+        State<String> scope = new State<String>() {
+            @Override
+            protected String initialValue() {
+                return "";
+            }
+        };
+        Sequence<Character> sequence = stateful(fromCharSequence("let a ? let b !"));
+        assertTrue(grammar(scope).phrase().parse(sequence).isSuccess());
+        assertEquals("a;b;", scope.get(sequence));
+    }
+}